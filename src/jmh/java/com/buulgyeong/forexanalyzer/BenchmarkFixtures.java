@@ -0,0 +1,99 @@
+package com.buulgyeong.forexanalyzer;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.RateSource;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 공통 입력값 / 고정 응답
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 대시보드 기본 입력과 같은 규모의 기업 입력값
+     */
+    public static CompanyInputRequest companyInput() {
+        return CompanyInputRequest.builder()
+                .materialCostUsd(new BigDecimal("12.50"))
+                .materialRatio(new BigDecimal("60"))
+                .sellingPriceKrw(new BigDecimal("35000"))
+                .targetMarginRate(new BigDecimal("15"))
+                .otherCostsKrw(new BigDecimal("4500"))
+                .build();
+    }
+
+    /**
+     * 30일 추이가 채워진 USD 환율 정보
+     */
+    public static ExchangeRateResponse exchangeRateInfo() {
+        LocalDate today = LocalDate.of(2026, 10, 16);
+        List<ExchangeRateResponse.DailyRate> last30Days = new ArrayList<>();
+        for (int i = 29; i >= 0; i--) {
+            last30Days.add(ExchangeRateResponse.DailyRate.builder()
+                    .date(today.minusDays(i))
+                    .rate(new BigDecimal("1385.5000").subtract(BigDecimal.valueOf(i * 85L, 2)))
+                    .build());
+        }
+
+        return ExchangeRateResponse.builder()
+                .currencyCode("USD")
+                .currentRate(new BigDecimal("1385.50"))
+                .rateSource(RateSource.NAVER)
+                .changeRate1Day(new BigDecimal("0.12"))
+                .changeRate7Day(new BigDecimal("0.43"))
+                .changeRate30Day(new BigDecimal("1.82"))
+                .rate1DayAgo(new BigDecimal("1383.80"))
+                .rate7DaysAgo(new BigDecimal("1379.55"))
+                .rate30DaysAgo(new BigDecimal("1360.85"))
+                .last30DaysRates(last30Days)
+                .lastUpdated(today)
+                .build();
+    }
+
+    /**
+     * 스프링 기본 설정과 같은 JSON 직렬화 설정 (JSR-310, 날짜는 ISO 문자열)
+     */
+    public static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * 운영과 같은 지표 기록 비용을 포함하도록 메모리 레지스트리 사용
+     */
+    public static ForexMetrics metrics() {
+        return new ForexMetrics(new SimpleMeterRegistry());
+    }
+
+    /**
+     * src/jmh/resources/fixtures 아래 고정 응답
+     */
+    public static String fixture(String name) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("fixture 없음: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.buulgyeong.forexanalyzer.dto;
+
+import com.buulgyeong.forexanalyzer.BenchmarkFixtures;
+import com.buulgyeong.forexanalyzer.cache.LlmResponseCache;
+import com.buulgyeong.forexanalyzer.external.UpstageAiClient;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.buulgyeong.forexanalyzer.service.ProfitLossAnalysisService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+
+/**
+ * 응답 JSON 직렬화 (/api/analyze, /api/dashboard 응답 본문)
+ */
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private ObjectWriter analysisWriter;
+    private ObjectWriter dashboardWriter;
+    private ProfitLossAnalysisResponse analysis;
+    private DashboardResponse dashboard;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        analysisWriter = objectMapper.writerFor(ProfitLossAnalysisResponse.class);
+        dashboardWriter = objectMapper.writerFor(DashboardResponse.class);
+
+        CompanyInputRequest input = BenchmarkFixtures.companyInput();
+        ExchangeRateResponse exchangeRateInfo = BenchmarkFixtures.exchangeRateInfo();
+        ForexMetrics metrics = BenchmarkFixtures.metrics();
+        UpstageAiClient stubAiClient = new UpstageAiClient(WebClient.create(), objectMapper,
+                new LlmResponseCache(1, 0), metrics, "", "", 4, new BigDecimal("0.1"));
+        analysis = new ProfitLossAnalysisService(null, stubAiClient, metrics).analyze(input, exchangeRateInfo);
+
+        dashboard = DashboardResponse.builder()
+                .exchangeRate(exchangeRateInfo)
+                .analysis(analysis)
+                .companyInput(input)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeAnalysis() throws JsonProcessingException {
+        return analysisWriter.writeValueAsBytes(analysis);
+    }
+
+    @Benchmark
+    public byte[] serializeDashboard() throws JsonProcessingException {
+        return dashboardWriter.writeValueAsBytes(dashboard);
+    }
+}
@@ -0,0 +1,49 @@
+package com.buulgyeong.forexanalyzer.external;
+
+import com.buulgyeong.forexanalyzer.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 외부 응답 파싱 (고정 응답 사용, 네트워크 없음)
+ *
+ * - 한국수출입은행 AP01 JSON (23개 통화) -> 통화별 1단위 환율
+ * - 네이버 USD 환율 페이지 HTML -> 현재 환율
+ */
+@State(Scope.Benchmark)
+public class RateParsingBenchmark {
+
+    private ExchangeRateApiClient client;
+    private String koreaEximResponse;
+    private String naverHtml;
+
+    @Setup
+    public void setUp() {
+        koreaEximResponse = BenchmarkFixtures.fixture("koreaexim-ap01.json");
+        naverHtml = BenchmarkFixtures.fixture("naver-usdkrw.html");
+
+        WebClient unused = WebClient.create();
+        client = new ExchangeRateApiClient(unused, unused, unused, BenchmarkFixtures.objectMapper(), BenchmarkFixtures.metrics(),
+                "", "", "",
+                1, 7,                             // backfill
+                0, 0, 0, 0, 1,                    // coalescing
+                5, 30000, 100,                    // circuit breaker
+                4000, 3000, 3000, 5000, 1000, 100, 60000);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> parseKoreaExim() {
+        return client.parseKoreaEximRates(koreaEximResponse);
+    }
+
+    @Benchmark
+    public BigDecimal parseNaver() {
+        return ExchangeRateApiClient.parseNaverSpotRate(naverHtml);
+    }
+}
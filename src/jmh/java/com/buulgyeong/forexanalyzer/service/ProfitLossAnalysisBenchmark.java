@@ -0,0 +1,79 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.BenchmarkFixtures;
+import com.buulgyeong.forexanalyzer.cache.LlmResponseCache;
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse.MarginRateChange;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse.ScenarioAnalysis;
+import com.buulgyeong.forexanalyzer.external.UpstageAiClient;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 손익 분석 계산 경로
+ *
+ * - 총 원가: 정수 커널 / BigDecimal 경로
+ * - 시나리오(5개) / 마진율 곡선(21개) 생성
+ * - 전체 analyze(): AI 클라이언트는 API 키 없이 만들어 기본 메시지를 반환하고, 같은 스레드에서 실행한다
+ */
+@State(Scope.Benchmark)
+public class ProfitLossAnalysisBenchmark {
+
+    private CompanyInputRequest input;
+    private ExchangeRateResponse exchangeRateInfo;
+    private BigDecimal currentRate;
+    private CostKernel kernel;
+    private ProfitLossAnalysisService service;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkFixtures.companyInput();
+        exchangeRateInfo = BenchmarkFixtures.exchangeRateInfo();
+        currentRate = exchangeRateInfo.getCurrentRate();
+        kernel = CostKernel.compile(input);
+
+        ForexMetrics metrics = BenchmarkFixtures.metrics();
+        UpstageAiClient stubAiClient = new UpstageAiClient(WebClient.create(), BenchmarkFixtures.objectMapper(),
+                new LlmResponseCache(1, 0), metrics, "", "", 4, new BigDecimal("0.1"));
+        service = new ProfitLossAnalysisService(null, stubAiClient, metrics);
+    }
+
+    @Benchmark
+    public BigDecimal totalCostKernel() {
+        return service.calculateTotalCost(input, kernel, currentRate);
+    }
+
+    @Benchmark
+    public BigDecimal totalCostBigDecimal() {
+        return service.calculateTotalCost(input, currentRate);
+    }
+
+    @Benchmark
+    public List<ScenarioAnalysis> scenarioAnalysis() {
+        return service.generateScenarioAnalysis(input, kernel, currentRate);
+    }
+
+    @Benchmark
+    public List<MarginRateChange> marginRateChanges() {
+        return service.generateMarginRateChanges(input, kernel, currentRate);
+    }
+
+    @Benchmark
+    public ProfitLossAnalysisResponse analyzeDeterministic() {
+        return service.analyzeDeterministic(input, exchangeRateInfo);
+    }
+
+    @Benchmark
+    public ProfitLossAnalysisResponse analyze() {
+        return service.analyze(input, exchangeRateInfo);
+    }
+}
@@ -0,0 +1,82 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.BenchmarkFixtures;
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.RiskSimulationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 몬테카를로 리스크 시뮬레이션 (기본 30일, 365일 이력, seed 고정)
+ *
+ * 1회 시뮬레이션 시간은 평균 시간 / 단발 실행 모드로 잰다.
+ * - 워밍업 후: ./gradlew jmh -PjmhIncludes=RiskSimulation -PjmhMode=avgt -PjmhTimeUnit=ms
+ * - 콜드 스타트: ./gradlew jmh -PjmhIncludes=RiskSimulation -PjmhMode=ss -PjmhTimeUnit=ms
+ * 병렬 스레드 수는 parallelism 파라미터(0이면 CPU 코어 수)로 정한다.
+ */
+@State(Scope.Benchmark)
+public class RiskSimulationBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int paths;
+
+    @Param({"GBM", "BOOTSTRAP"})
+    private RiskSimulationService.Model model;
+
+    @Param({"0", "1"})
+    private int parallelism;
+
+    private CompanyInputRequest input;
+    private ExchangeRateResponse exchangeRateInfo;
+    private ForkJoinPool pool;
+    private RiskSimulationService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = BenchmarkFixtures.companyInput();
+        exchangeRateInfo = BenchmarkFixtures.exchangeRateInfo();
+        double[] history = history(365);
+
+        // 저장소 없이 고정 이력을 돌려주는 환율 서비스
+        ExchangeRateService exchangeRateService = new ExchangeRateService(null, null, null, null) {
+            @Override
+            public double[] getRateSeries(CompanyInputRequest request, int days) {
+                return history;
+            }
+        };
+
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        service = new RiskSimulationService(exchangeRateService,
+                new ProfitLossAnalysisService(null, null, BenchmarkFixtures.metrics()),
+                pool, 365, 2_000_000, 365, 0.95);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public RiskSimulationResponse simulate() {
+        return service.simulate(input, exchangeRateInfo, model, paths, 30, 42L);
+    }
+
+    private static double[] history(int days) {
+        Random random = new Random(2024);
+        double[] rates = new double[days];
+        rates[0] = 1300;
+        for (int i = 1; i < days; i++) {
+            rates[i] = rates[i - 1] * Math.exp(0.0001 + 0.005 * random.nextGaussian());
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,154 @@
+package com.buulgyeong.forexanalyzer.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * LLM 응답 캐시 (키: 프롬프트 입력값의 정규화 해시)
+ *
+ * 최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 제거(LRU)하고,
+ * 저장 후 ttl이 지난 항목은 조회 시 만료 처리한다.
+ * load/join으로 호출하면 같은 키의 동시 miss는 진행 중인 LLM 호출 하나를 공유한다 (SingleFlightCache와 같은 방식, 실패는 저장하지 않음).
+ */
+@Component
+public class LlmResponseCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+
+    public LlmResponseCache(
+            @Value("${forex.ai-cache.max-entries:1000}") int maxEntries,
+            @Value("${forex.ai-cache.ttl-ms:3600000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean evict = size() > LlmResponseCache.this.maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * 캐시 조회 (없거나 만료되면 null)
+     */
+    public synchronized String get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || System.currentTimeMillis() - entry.storedAt() > ttlMillis) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value();
+    }
+
+    /**
+     * miss 후 loader로 생성해 저장 (같은 키의 진행 중인 호출이 있으면 합류)
+     *
+     * 프롬프트 생성 비용을 아끼도록 get(key)로 먼저 확인한 뒤 miss일 때만 호출한다.
+     */
+    public Mono<String> load(String key, Supplier<Mono<String>> loader) {
+        return Mono.defer(() -> Mono.fromFuture(load(key, loader, true).copy()));
+    }
+
+    /**
+     * 저장하지 않고 같은 키의 진행 중인 호출에만 합류 (결과를 항목별로 나눠 저장하는 통합 호출용)
+     */
+    public Mono<String> join(String key, Supplier<Mono<String>> loader) {
+        return Mono.defer(() -> Mono.fromFuture(load(key, loader, false).copy()));
+    }
+
+    public synchronized void put(String key, String value) {
+        entries.put(key, new Entry(value, System.currentTimeMillis()));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), joined.get(), size());
+    }
+
+    private CompletableFuture<String> load(String key, Supplier<Mono<String>> loader, boolean store) {
+        CompletableFuture<String> flight = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            joined.incrementAndGet();
+            return existing;
+        }
+
+        Mono.defer(loader).toFuture().whenComplete((value, error) -> {
+            if (store && error == null && value != null) {
+                put(key, value);
+            }
+            inFlight.remove(key, flight);
+
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(value);
+            }
+        });
+
+        return flight;
+    }
+
+    /**
+     * 프롬프트 구분자 + 정규화된 입력값으로 캐시 키 생성 (SHA-256)
+     */
+    public static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * joined: 진행 중인 호출에 합류한 횟수 (miss에도 포함)
+     */
+    public record Stats(long hits, long misses, long evictions, long joined, int size) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private record Entry(String value, long storedAt) {
+    }
+}
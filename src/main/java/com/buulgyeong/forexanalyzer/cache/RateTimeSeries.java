@@ -0,0 +1,195 @@
+package com.buulgyeong.forexanalyzer.cache;
+
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 통화 하나의 일별 환율 시계열 (열 단위, 불변)
+ *
+ * 날짜는 epoch-day int 배열, 환율은 10^scale 배한 long 배열로 보관한다.
+ * 첫 날짜부터 마지막 날짜까지 하루마다 "그날 또는 직전 관측치"의 위치를 미리 계산해 두어
+ * 휴일 보정 조회는 O(1), 기간 조회는 이진 탐색으로 O(log n)이다.
+ *
+ * 갱신은 merge로 새 인스턴스를 만들어 교체하므로 읽는 쪽은 동기화 없이 사용할 수 있다.
+ */
+public final class RateTimeSeries {
+
+    private final int scale;
+    private final int[] epochDays;    // 오름차순, 중복 없음
+    private final long[] rates;       // rate * 10^scale
+    private final int[] carryForward; // (epochDay - 첫 날짜) -> 그날 또는 직전 관측치 위치
+
+    private RateTimeSeries(int scale, int[] epochDays, long[] rates) {
+        this.scale = scale;
+        this.epochDays = epochDays;
+        this.rates = rates;
+        this.carryForward = buildCarryForward(epochDays);
+    }
+
+    public static RateTimeSeries empty(int scale) {
+        return new RateTimeSeries(scale, new int[0], new long[0]);
+    }
+
+    /**
+     * 날짜별 환율로 시계열 생성 (순서 무관)
+     */
+    public static RateTimeSeries of(int scale, Map<LocalDate, BigDecimal> ratesByDate) {
+        return empty(scale).merge(ratesByDate);
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    public LocalDate firstDate() {
+        return isEmpty() ? null : LocalDate.ofEpochDay(epochDays[0]);
+    }
+
+    public LocalDate lastDate() {
+        return isEmpty() ? null : LocalDate.ofEpochDay(epochDays[epochDays.length - 1]);
+    }
+
+    public BigDecimal lastRate() {
+        return isEmpty() ? null : toDecimal(rates[rates.length - 1]);
+    }
+
+    /**
+     * 해당 날짜에 관측된 환율 (없으면 null)
+     */
+    public BigDecimal rateOn(LocalDate date) {
+        int index = indexOnOrBefore(date);
+        return index >= 0 && epochDays[index] == date.toEpochDay() ? toDecimal(rates[index]) : null;
+    }
+
+    /**
+     * 해당 날짜 또는 직전 관측일의 환율 (휴일 보정, 첫 관측일 이전이면 null)
+     */
+    public BigDecimal rateOnOrBefore(LocalDate date) {
+        int index = indexOnOrBefore(date);
+        return index >= 0 ? toDecimal(rates[index]) : null;
+    }
+
+    /**
+     * 기간 내 관측치 (from, to 포함, 날짜 오름차순)
+     */
+    public List<ExchangeRateResponse.DailyRate> slice(LocalDate from, LocalDate to) {
+        int start = lowerBound(from.toEpochDay());
+        int end = lowerBound(to.toEpochDay() + 1);
+
+        List<ExchangeRateResponse.DailyRate> result = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            result.add(ExchangeRateResponse.DailyRate.builder()
+                    .date(LocalDate.ofEpochDay(epochDays[i]))
+                    .rate(toDecimal(rates[i]))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 관측치를 추가/갱신한 새 시계열 반환
+     *
+     * 모든 날짜가 마지막 관측일 이후면 배열 끝에 덧붙이고, 아니면 전체를 다시 정렬해 합친다.
+     */
+    public RateTimeSeries merge(Map<LocalDate, BigDecimal> ratesByDate) {
+        if (ratesByDate.isEmpty()) {
+            return this;
+        }
+
+        TreeMap<Integer, Long> updates = new TreeMap<>();
+        ratesByDate.forEach((date, rate) -> updates.put((int) date.toEpochDay(), toScaled(rate)));
+
+        int n = epochDays.length;
+        if (n == 0 || updates.firstKey() > epochDays[n - 1]) {
+            int[] days = Arrays.copyOf(epochDays, n + updates.size());
+            long[] values = Arrays.copyOf(rates, n + updates.size());
+            int i = n;
+            for (Map.Entry<Integer, Long> e : updates.entrySet()) {
+                days[i] = e.getKey();
+                values[i] = e.getValue();
+                i++;
+            }
+            return new RateTimeSeries(scale, days, values);
+        }
+
+        TreeMap<Integer, Long> merged = new TreeMap<>();
+        for (int i = 0; i < n; i++) {
+            merged.put(epochDays[i], rates[i]);
+        }
+        merged.putAll(updates);
+
+        int[] days = new int[merged.size()];
+        long[] values = new long[merged.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Long> e : merged.entrySet()) {
+            days[i] = e.getKey();
+            values[i] = e.getValue();
+            i++;
+        }
+        return new RateTimeSeries(scale, days, values);
+    }
+
+    private int indexOnOrBefore(LocalDate date) {
+        if (isEmpty()) {
+            return -1;
+        }
+        long offset = date.toEpochDay() - epochDays[0];
+        if (offset < 0) {
+            return -1;
+        }
+        if (offset >= carryForward.length) {
+            return epochDays.length - 1;
+        }
+        return carryForward[(int) offset];
+    }
+
+    /**
+     * epochDay 이상인 첫 관측치 위치
+     */
+    private int lowerBound(long epochDay) {
+        if (epochDay > Integer.MAX_VALUE) {
+            return epochDays.length;
+        }
+        if (epochDay < Integer.MIN_VALUE) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(epochDays, (int) epochDay);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private BigDecimal toDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, scale);
+    }
+
+    private long toScaled(BigDecimal rate) {
+        return rate.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static int[] buildCarryForward(int[] epochDays) {
+        if (epochDays.length == 0) {
+            return new int[0];
+        }
+        int first = epochDays[0];
+        int[] index = new int[epochDays[epochDays.length - 1] - first + 1];
+        int position = 0;
+        for (int offset = 0; offset < index.length; offset++) {
+            if (position + 1 < epochDays.length && epochDays[position + 1] - first == offset) {
+                position++;
+            }
+            index[offset] = position;
+        }
+        return index;
+    }
+}
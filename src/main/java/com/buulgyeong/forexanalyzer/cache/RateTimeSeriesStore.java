@@ -0,0 +1,73 @@
+package com.buulgyeong.forexanalyzer.cache;
+
+import com.buulgyeong.forexanalyzer.entity.ExchangeRateHistory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 통화별 환율 시계열 저장소 (메모리)
+ *
+ * 기동 시 DB 이력 전체를 한 번 적재하고, 이후에는 수집된 값을 merge로 반영한다.
+ * 기간 조회는 DB를 거치지 않고 이 저장소에서 처리한다.
+ */
+@Component
+public class RateTimeSeriesStore {
+
+    /** 환율 정밀도 (ExchangeRateHistory.rate 컬럼 scale과 동일) */
+    public static final int RATE_SCALE = 4;
+
+    private final Map<String, RateTimeSeries> seriesByCurrency = new ConcurrentHashMap<>();
+
+    /**
+     * 통화의 현재 시계열 (없으면 빈 시계열)
+     */
+    public RateTimeSeries get(String currencyCode) {
+        return seriesByCurrency.getOrDefault(currencyCode, RateTimeSeries.empty(RATE_SCALE));
+    }
+
+    /**
+     * DB 이력으로 통화 시계열 전체 교체
+     */
+    public void load(String currencyCode, List<ExchangeRateHistory> histories) {
+        Map<LocalDate, BigDecimal> ratesByDate = new HashMap<>(histories.size() * 2);
+        for (ExchangeRateHistory h : histories) {
+            ratesByDate.put(h.getRateDate(), h.getRate());
+        }
+        seriesByCurrency.put(currencyCode, RateTimeSeries.of(RATE_SCALE, ratesByDate));
+    }
+
+    /**
+     * DB 이력으로 전체 통화 시계열 교체
+     */
+    public void loadAll(List<ExchangeRateHistory> histories) {
+        Map<String, List<ExchangeRateHistory>> byCurrency = new HashMap<>();
+        for (ExchangeRateHistory h : histories) {
+            byCurrency.computeIfAbsent(h.getCurrencyCode(), code -> new ArrayList<>()).add(h);
+        }
+        byCurrency.forEach(this::load);
+    }
+
+    /**
+     * 시계열이 있는 통화 코드 (정렬)
+     */
+    public Set<String> currencies() {
+        return new TreeSet<>(seriesByCurrency.keySet());
+    }
+
+    /**
+     * 관측치 추가/갱신
+     */
+    public void merge(String currencyCode, Map<LocalDate, BigDecimal> ratesByDate) {
+        seriesByCurrency.compute(currencyCode, (code, current) ->
+                (current != null ? current : RateTimeSeries.empty(RATE_SCALE)).merge(ratesByDate));
+    }
+}
@@ -0,0 +1,159 @@
+package com.buulgyeong.forexanalyzer.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 키별 single-flight + stale-while-revalidate 캐시
+ *
+ * 같은 키에 대한 동시 요청은 하나의 외부 호출을 공유하고, 키마다 진행 중인 호출은 최대 1개다.
+ * - fresh 구간: 캐시 값 즉시 반환
+ * - stale 구간: 캐시 값 즉시 반환 + 백그라운드 재조회 1회
+ * - 그 이후 / 캐시 없음: 진행 중인 조회에 합류 (없으면 새로 시작)
+ * 실패한 조회 결과는 캐시하지 않는다.
+ *
+ * stale 구간까지 지난 값은 다시 쓰이지 않으므로, 값을 넣을 때 그 구간마다 한 번 만료된 값을 정리한다.
+ * 정리 후에도 maxEntries를 넘으면 오래 전에 조회한 값부터 제거한다.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final long freshNanos;
+    private final long staleNanos;
+    private final int maxEntries;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public SingleFlightCache(Duration freshFor, Duration staleFor, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries는 1 이상이어야 합니다");
+        }
+        this.freshNanos = freshFor.toNanos();
+        this.staleNanos = staleFor.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 캐시 우선 조회 (stale-while-revalidate)
+     */
+    public Mono<V> get(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                long age = System.nanoTime() - entry.loadedAt();
+                if (age < freshNanos) {
+                    freshHits.increment();
+                    return Mono.just(entry.value());
+                }
+                if (age < freshNanos + staleNanos) {
+                    staleHits.increment();
+                    load(key, loader);
+                    return Mono.just(entry.value());
+                }
+            }
+            misses.increment();
+            return Mono.fromFuture(load(key, loader).copy());
+        });
+    }
+
+    /**
+     * 캐시를 건너뛰고 새로 조회 (진행 중인 조회가 있으면 합류)
+     */
+    public Mono<V> refresh(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> Mono.fromFuture(load(key, loader).copy()));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public Stats stats() {
+        return new Stats(freshHits.sum(), staleHits.sum(), misses.sum(), joined.sum());
+    }
+
+    private CompletableFuture<V> load(K key, Supplier<Mono<V>> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            joined.increment();
+            return existing;
+        }
+
+        Mono.defer(loader).toFuture().whenComplete((value, error) -> {
+            if (error == null && value != null) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+                evictIfNeeded();
+            }
+            inFlight.remove(key, flight);
+
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(value);
+            }
+        });
+
+        return flight;
+    }
+
+    /**
+     * 만료 값 정리 (fresh + stale 구간마다 한 번) + 최대 개수 초과분 제거 (오래된 순)
+     */
+    private void evictIfNeeded() {
+        long now = System.nanoTime();
+        long expiry = freshNanos + staleNanos;
+        long last = lastSweep.get();
+        boolean sweepDue = now - last >= expiry && lastSweep.compareAndSet(last, now);
+        if (!sweepDue && entries.size() <= maxEntries) {
+            return;
+        }
+
+        entries.values().removeIf(entry -> now - entry.loadedAt() >= expiry);
+
+        int excess = entries.size() - maxEntries;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    /**
+     * get() 조회 결과별 횟수 (joined: 진행 중인 조회에 합류한 횟수, refresh 포함)
+     */
+    public record Stats(long freshHits, long staleHits, long misses, long joined) {
+
+        public double hitRatio() {
+            long total = freshHits + staleHits + misses;
+            return total == 0 ? 0.0 : (double) (freshHits + staleHits) / total;
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
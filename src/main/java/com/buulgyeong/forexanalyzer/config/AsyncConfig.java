@@ -0,0 +1,58 @@
+package com.buulgyeong.forexanalyzer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 기본 작업 실행기 (MVC 비동기 처리 등)
+     *
+     * 아래 전용 실행기를 등록하면 스프링 부트 기본 실행기가 생성되지 않으므로 직접 등록
+     */
+    @Lazy
+    @Primary
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * 최종 리포트 작업 전용 실행기 (큐가 가득 차면 RejectedExecutionException)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportTaskExecutor(
+            @Value("${forex.report.job.pool-size:4}") int poolSize,
+            @Value("${forex.report.job.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("report-");
+        return executor;
+    }
+
+    /**
+     * CPU 집약 계산(다건 손익 분석, 리스크 시뮬레이션) 전용 병렬 풀 (parallelism 0이면 CPU 코어 수)
+     *
+     * 공용 ForkJoinPool과 분리해 대량 계산이 다른 병렬 작업을 밀어내지 않도록 한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool batchAnalysisPool(@Value("${forex.batch.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+}
@@ -1,14 +1,94 @@
 package com.buulgyeong.forexanalyzer.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * 외부 API 호출용 WebClient 설정
+ *
+ * 모든 외부 호출이 하나의 커넥션 풀을 공유해 소켓과 TLS 세션을 재사용한다.
+ * 외부 API마다 응답 대기 시간만 다르게 설정한 WebClient를 미리 만들어 둔다.
+ */
 @Configuration
 public class WebClientConfig {
-    
+
+    @Value("${forex.http.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${forex.http.max-in-memory-size:2097152}")
+    private int maxInMemorySize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(
+            @Value("${forex.http.max-connections:100}") int maxConnections,
+            @Value("${forex.http.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs,
+            @Value("${forex.http.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${forex.http.max-life-time-ms:300000}") long maxLifeTimeMs) {
+        return ConnectionProvider.builder("outbound")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+    }
+
+    /**
+     * 한국수출입은행 환율 API
+     */
+    @Bean
+    public WebClient koreaEximWebClient(WebClient.Builder builder, ConnectionProvider outboundConnectionProvider,
+                                        @Value("${forex.http.koreaexim-read-timeout-ms:5000}") long readTimeoutMs) {
+        return build(builder, outboundConnectionProvider, readTimeoutMs);
+    }
+
+    /**
+     * 네이버페이 증권 (실시간 환율 페이지)
+     */
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient naverWebClient(WebClient.Builder builder, ConnectionProvider outboundConnectionProvider,
+                                    @Value("${forex.http.naver-read-timeout-ms:5000}") long readTimeoutMs) {
+        return build(builder.defaultHeader(HttpHeaders.USER_AGENT, "Mozilla/5.0"),
+                outboundConnectionProvider, readTimeoutMs);
+    }
+
+    /**
+     * 백업 환율 API
+     */
+    @Bean
+    public WebClient backupRateWebClient(WebClient.Builder builder, ConnectionProvider outboundConnectionProvider,
+                                         @Value("${forex.http.backup-read-timeout-ms:5000}") long readTimeoutMs) {
+        return build(builder, outboundConnectionProvider, readTimeoutMs);
+    }
+
+    /**
+     * Upstage AI (LLM 응답은 오래 걸릴 수 있어 대기 시간을 길게)
+     */
+    @Bean
+    public WebClient upstageWebClient(WebClient.Builder builder, ConnectionProvider outboundConnectionProvider,
+                                      @Value("${forex.http.upstage-read-timeout-ms:60000}") long readTimeoutMs) {
+        return build(builder, outboundConnectionProvider, readTimeoutMs);
+    }
+
+    private WebClient build(WebClient.Builder builder, ConnectionProvider connectionProvider, long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                .compress(true);
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .build();
     }
 }
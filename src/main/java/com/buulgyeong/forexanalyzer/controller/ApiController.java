@@ -1,14 +1,42 @@
 package com.buulgyeong.forexanalyzer.controller;
 
 import com.buulgyeong.forexanalyzer.dto.*;
+import com.buulgyeong.forexanalyzer.scheduler.ExchangeRateHistoryBootstrapper;
+import com.buulgyeong.forexanalyzer.service.BatchAnalysisService;
 import com.buulgyeong.forexanalyzer.service.ExchangeRateService;
 import com.buulgyeong.forexanalyzer.service.FinalReportService;
 import com.buulgyeong.forexanalyzer.service.ProfitLossAnalysisService;
+import com.buulgyeong.forexanalyzer.service.ReportJob;
+import com.buulgyeong.forexanalyzer.service.ReportJobService;
+import com.buulgyeong.forexanalyzer.service.RiskSimulationService;
+import com.buulgyeong.forexanalyzer.service.SensitivityAnalysisService;
+import com.buulgyeong.forexanalyzer.service.StagedAnalysis;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -19,40 +47,171 @@ public class ApiController {
     private final ExchangeRateService exchangeRateService;
     private final ProfitLossAnalysisService profitLossAnalysisService;
     private final FinalReportService finalReportService;
+    private final ReportJobService reportJobService;
+    private final BatchAnalysisService batchAnalysisService;
+    private final SensitivityAnalysisService sensitivityAnalysisService;
+    private final RiskSimulationService riskSimulationService;
+    private final ExchangeRateHistoryBootstrapper exchangeRateHistoryBootstrapper;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${forex.analysis.stream-timeout-ms:30000}")
+    private long streamTimeoutMs;
+    
+    @Value("${forex.report.stream-timeout-ms:120000}")
+    private long reportStreamTimeoutMs;
+    
+    /**
+     * 서비스 상태 (환율 이력 적재 전이면 503) 및 기동 시간
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ServiceStatusResponse> getStatus() {
+        ServiceStatusResponse status = exchangeRateHistoryBootstrapper.getStatus();
+        return ResponseEntity.status(status.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(status);
+    }
     
     /**
      * 실시간 환율 정보 조회
+     *
+     * 수집 스케줄러가 게시한 메모리 스냅샷만 읽으므로 외부 호출/DB 접근 없이 바로 완료된다.
      */
     @GetMapping("/exchange-rate")
-    public ResponseEntity<ExchangeRateResponse> getExchangeRate() {
-        ExchangeRateResponse response = exchangeRateService.getExchangeRateInfo();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ExchangeRateResponse> getExchangeRate(@RequestParam(defaultValue = "USD") String currency) {
+        return ResponseEntity.ok(exchangeRateService.getExchangeRateInfo(currency));
+    }
+    
+    /**
+     * 환율 이력이 있는 통화 목록
+     */
+    @GetMapping("/exchange-rate/currencies")
+    public ResponseEntity<Set<String>> getCurrencies() {
+        return ResponseEntity.ok(exchangeRateService.getAvailableCurrencies());
     }
     
     /**
      * 손익 분석 수행
+     *
+     * AI 응답을 기다리는 동안 요청 스레드를 반환한다 (MVC 비동기 처리, 완료 시 응답).
      */
     @PostMapping("/analyze")
-    public ResponseEntity<ProfitLossAnalysisResponse> analyze(@Valid @RequestBody CompanyInputRequest request) {
-        ProfitLossAnalysisResponse response = profitLossAnalysisService.analyze(request);
+    public Mono<ResponseEntity<ProfitLossAnalysisResponse>> analyze(@Valid @RequestBody CompanyInputRequest request) {
+        return profitLossAnalysisService.analyzeAsync(request).map(ResponseEntity::ok);
+    }
+    
+    /**
+     * 손익 분석 (2단계 스트리밍)
+     *
+     * Server-Sent Events로 결정적 분석 결과를 즉시 보내고(analysis),
+     * AI 결과는 완료되는 대로 보낸다(aiEvaluation, monitoringStrategy). 마지막에 done 이벤트.
+     */
+    @PostMapping(value = "/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeStream(@Valid @RequestBody CompanyInputRequest request) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        StagedAnalysis staged = profitLossAnalysisService.analyzeStaged(request, exchangeRateService.getExchangeRateInfo(request));
+        
+        sendEvent(emitter, "analysis", staged.getResponse());
+        
+        CompletableFuture<Void> evaluationSent = staged.getAiEvaluation()
+                .thenAccept(text -> sendEvent(emitter, "aiEvaluation", text));
+        CompletableFuture<Void> strategySent = staged.getMonitoringStrategy()
+                .thenAccept(text -> sendEvent(emitter, "monitoringStrategy", text));
+        
+        CompletableFuture.allOf(evaluationSent, strategySent).whenComplete((v, e) -> {
+            sendEvent(emitter, "done", "");
+            emitter.complete();
+        });
+        
+        return emitter;
+    }
+    
+    /**
+     * 환율 민감도 곡선
+     *
+     * 범위(from, to)와 간격(step) 또는 점 개수(points)를 지정해 원가/마진/마진율 곡선을 계산한다.
+     * 응답은 점마다 객체를 만들지 않고 항목별 배열(exchangeRates, costs, margins, marginRates)로 반환.
+     */
+    @PostMapping("/analyze/sensitivity")
+    public ResponseEntity<SensitivityCurveResponse> analyzeSensitivity(
+            @Valid @RequestBody CompanyInputRequest request,
+            @RequestParam(required = false) Double from,
+            @RequestParam(required = false) Double to,
+            @RequestParam(required = false) Double step,
+            @RequestParam(required = false) Integer points) {
+        SensitivityCurveResponse response = sensitivityAnalysisService.calculate(
+                request, exchangeRateService.getExchangeRateInfo(request).getCurrentRate(), from, to, step, points);
         return ResponseEntity.ok(response);
     }
     
     /**
-     * 대시보드 전체 데이터 조회
+     * 몬테카를로 환율 리스크 시뮬레이션
+     *
+     * 저장된 환율 이력으로 추정한 변동성으로 paths개 경로를 horizonDays일 동안 시뮬레이션해
+     * 마진 위험액, 손익분기점 돌파 확률, 분위별 마진 구간을 반환한다. seed를 주면 결과가 재현된다.
      */
-    @PostMapping("/dashboard")
-    public ResponseEntity<DashboardResponse> getDashboard(@Valid @RequestBody CompanyInputRequest request) {
+    @PostMapping("/risk/simulate")
+    public ResponseEntity<RiskSimulationResponse> simulateRisk(
+            @Valid @RequestBody CompanyInputRequest request,
+            @RequestParam(defaultValue = "GBM") RiskSimulationService.Model model,
+            @RequestParam(defaultValue = "${forex.risk.default-paths:100000}") int paths,
+            @RequestParam(defaultValue = "${forex.risk.default-horizon-days:30}") int horizonDays,
+            @RequestParam(required = false) Long seed) {
+        RiskSimulationResponse response = riskSimulationService.simulate(
+                request, exchangeRateService.getExchangeRateInfo(request), model, paths, horizonDays, seed);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 다건 손익 분석 (포트폴리오)
+     *
+     * 요청: CompanyInputRequest의 JSON 배열 또는 NDJSON (한 줄에 하나)
+     * 응답: NDJSON으로 입력 순서대로 BatchAnalysisItem { index, analysis | error } 를 도착하는 대로 전송
+     *
+     * 환율은 통화(바스켓)별로 배치당 한 번만 조회해 모든 항목에 같은 값을 사용하며, USD 환율은 X-Exchange-Rate 헤더로 함께 반환한다.
+     * AI 평가/전략은 기본적으로 생략하며 includeAi=true일 때만 항목마다 요청한다.
+     */
+    @PostMapping(value = "/analyze/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> analyzeBatch(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean includeAi) {
         ExchangeRateResponse exchangeRate = exchangeRateService.getExchangeRateInfo();
-        ProfitLossAnalysisResponse analysis = profitLossAnalysisService.analyze(request);
         
-        DashboardResponse response = DashboardResponse.builder()
-                .exchangeRate(exchangeRate)
-                .analysis(analysis)
-                .companyInput(request)
-                .build();
+        StreamingResponseBody stream = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            try (MappingIterator<CompanyInputRequest> inputs =
+                         objectMapper.readerFor(CompanyInputRequest.class).readValues(body)) {
+                long count = batchAnalysisService.analyze(inputs, exchangeRate, includeAi, buffered);
+                log.info("다건 손익 분석 완료: {}건 (includeAi={})", count, includeAi);
+            } catch (RuntimeException e) {
+                // 입력 JSON 오류는 서비스가 index와 함께 기록하며, 여기서는 예상하지 못한 오류만 마지막 줄에 남긴다
+                log.warn("다건 손익 분석 중단: {}", e.getMessage());
+                buffered.write(objectMapper.writeValueAsBytes(Map.of("error", "다건 분석을 계속할 수 없습니다: " + e.getMessage())));
+                buffered.write('\n');
+            }
+            buffered.flush();
+        };
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header("X-Exchange-Rate", exchangeRate.getCurrentRate().toPlainString())
+                .body(stream);
+    }
+    
+    /**
+     * 대시보드 전체 데이터 조회
+     */
+    @PostMapping("/dashboard")
+    public Mono<ResponseEntity<DashboardResponse>> getDashboard(@Valid @RequestBody CompanyInputRequest request) {
+        return Mono.defer(() -> {
+            // 환율 정보는 요청당 한 번만 조회해 분석에 그대로 전달
+            ExchangeRateResponse exchangeRate = exchangeRateService.getExchangeRateInfo(request);
+            return profitLossAnalysisService.analyzeAsync(request, exchangeRate)
+                    .map(analysis -> ResponseEntity.ok(DashboardResponse.builder()
+                            .exchangeRate(exchangeRate)
+                            .analysis(analysis)
+                            .companyInput(request)
+                            .build()));
+        });
     }
 
     /**
@@ -61,22 +220,132 @@ public class ApiController {
      * 요청: CompanyInputRequest (JSON)
      * 응답: FinalReportResponse { reportMarkdown, aiContextJson, fullAnalysisJson, generatedAt }
      *
-     * 주의: AI 호출이 포함되어 있어 응답에 시간이 걸릴 수 있음. 필요하면 비동기 작업으로 변경 권장.
+     * 주의: AI 호출이 포함되어 있어 응답에 시간이 걸릴 수 있음. 대기 중에는 요청 스레드를 점유하지 않는다.
+     * 작업으로 등록하고 나중에 결과를 조회하려면 /report/jobs 사용.
      */
     @PostMapping("/report/final")
-    public ResponseEntity<FinalReportResponse> generateFinalReport(@Valid @RequestBody CompanyInputRequest request) {
+    public Mono<ResponseEntity<FinalReportResponse>> generateFinalReport(@Valid @RequestBody CompanyInputRequest request) {
+        return finalReportService.generateFinalReportAsync(request)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("최종 리포트 생성 실패", e);
+                    FinalReportResponse err = FinalReportResponse.builder()
+                            .reportMarkdown("최종 리포트 생성에 실패했습니다: " + e.getMessage())
+                            .aiContextJson("{}")
+                            .fullAnalysisJson("{}")
+                            .generatedAt(java.time.Instant.now())
+                            .build();
+                    return Mono.just(ResponseEntity.internalServerError().body(err));
+                });
+    }
+    
+    /**
+     * 최종 리포트 비동기 작업 등록
+     *
+     * 202 Accepted + 작업 상태 반환. 작업 큐가 가득 차면 503 (Retry-After)
+     */
+    @PostMapping("/report/jobs")
+    public ResponseEntity<ReportJobResponse> submitReportJob(@Valid @RequestBody CompanyInputRequest request) {
         try {
-            FinalReportResponse report = finalReportService.generateFinalReportForInput(request);
-            return ResponseEntity.ok(report);
-        } catch (Exception e) {
-            log.error("최종 리포트 생성 실패", e);
-            FinalReportResponse err = FinalReportResponse.builder()
-                    .reportMarkdown("최종 리포트 생성에 실패했습니다: " + e.getMessage())
-                    .aiContextJson("{}")
-                    .fullAnalysisJson("{}")
-                    .generatedAt(java.time.Instant.now())
+            ReportJob job = reportJobService.submit(request, exchangeRateService.getExchangeRateInfo(request));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/report/jobs/" + job.getId()))
+                    .body(reportJobService.toResponse(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
                     .build();
-            return ResponseEntity.internalServerError().body(err);
+        }
+    }
+    
+    /**
+     * 최종 리포트 작업 상태 조회
+     */
+    @GetMapping("/report/jobs/{jobId}")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable String jobId) {
+        return reportJobService.findJob(jobId)
+                .map(job -> ResponseEntity.ok(reportJobService.toResponse(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * 최종 리포트 작업 결과 조회
+     *
+     * 완료: 200 + FinalReportResponse, 진행 중: 202, 실패: 500, 없음/만료: 404
+     */
+    @GetMapping("/report/jobs/{jobId}/result")
+    public ResponseEntity<FinalReportResponse> getReportJobResult(@PathVariable String jobId) {
+        Optional<ReportJob> found = reportJobService.findJob(jobId);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        ReportJob job = found.get();
+        switch (job.getStatus()) {
+            case COMPLETED:
+                return ResponseEntity.ok(job.getResult());
+            case FAILED:
+                FinalReportResponse err = FinalReportResponse.builder()
+                        .reportMarkdown("최종 리포트 생성에 실패했습니다: " + job.getError())
+                        .aiContextJson("{}")
+                        .fullAnalysisJson("{}")
+                        .generatedAt(job.getCompletedAt())
+                        .build();
+                return ResponseEntity.internalServerError().body(err);
+            default:
+                return ResponseEntity.accepted().build();
+        }
+    }
+    
+    /**
+     * 최종 AI 분석 리포트 스트리밍 생성
+     *
+     * Server-Sent Events로 생성되는 텍스트 조각을 도착하는 대로 보내고(delta: {"text": ...}),
+     * 마지막에 완성된 FinalReportResponse를 보낸다(report). AI 실패 시 fallback 리포트로 report 전송.
+     */
+    @PostMapping(value = "/report/final/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFinalReport(@Valid @RequestBody CompanyInputRequest request) {
+        SseEmitter emitter = new SseEmitter(reportStreamTimeoutMs);
+        FinalReportService.ReportContext context =
+                finalReportService.prepareReport(request, exchangeRateService.getExchangeRateInfo(request));
+        StringBuilder markdown = new StringBuilder();
+        
+        Disposable subscription = finalReportService.streamReport(context).subscribe(
+                delta -> {
+                    markdown.append(delta);
+                    sendEvent(emitter, "delta", Map.of("text", delta));
+                },
+                error -> {
+                    log.error("최종 리포트 스트리밍 실패: {}", error.getMessage());
+                    sendEvent(emitter, "report", finalReportService.completeReport(context, null));
+                    emitter.complete();
+                },
+                () -> {
+                    sendEvent(emitter, "report", finalReportService.completeReport(context, markdown.toString()));
+                    emitter.complete();
+                });
+        
+        // 클라이언트가 먼저 끊으면 업스트림 스트림도 중단
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        
+        return emitter;
+    }
+    
+    /**
+     * 잘못된 요청 값 (지원하지 않는 통화, 범위를 벗어난 파라미터 등) -> 400
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+    
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 등
+            log.debug("SSE 전송 실패 ({}): {}", name, e.getMessage());
         }
     }
 }
@@ -0,0 +1,18 @@
+package com.buulgyeong.forexanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchAnalysisItem {
+    private long index;                           // 요청 내 순번 (0부터)
+    private ProfitLossAnalysisResponse analysis;  // 분석 결과 (성공 시)
+    private String error;                         // 실패 사유 (입력 검증 실패 등)
+}
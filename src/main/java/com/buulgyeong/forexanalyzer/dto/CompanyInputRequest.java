@@ -2,7 +2,9 @@ package com.buulgyeong.forexanalyzer.dto;
 
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import com.fasterxml.jackson.annotation.JsonAlias;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,6 +12,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Data
 @Builder
@@ -19,7 +22,8 @@ public class CompanyInputRequest {
     
     @NotNull(message = "원자재 단가(USD)는 필수입니다")
     @Positive(message = "원자재 단가는 0보다 커야 합니다")
-    private BigDecimal materialCostUsd;  // 원자재 단가(USD)
+    @JsonAlias("materialCost")
+    private BigDecimal materialCostUsd;  // 원자재 단가 (materialCurrency 기준, 기본 USD)
     
     @NotNull(message = "원자재 사용 비중(%)은 필수입니다")
     @DecimalMin(value = "0.01", message = "원자재 비중은 0.01% 이상이어야 합니다")
@@ -37,4 +41,11 @@ public class CompanyInputRequest {
     
     @NotNull(message = "기타 비용(KRW)은 필수입니다")
     private BigDecimal otherCostsKrw;    // 기타 비용(KRW) - 물류비, 관세, 가공비 등
+    
+    @Pattern(regexp = "^[A-Z]{3}$", message = "원자재 통화는 3자리 통화 코드여야 합니다")
+    private String materialCurrency;     // 원자재 단가 통화 (생략 시 USD)
+    
+    // 통화 바스켓 (통화 코드 -> 결제 금액 비중). 지정 시 원자재 단가를 비중대로 나눠 각 통화로 결제하는 것으로 계산
+    private Map<@Pattern(regexp = "^[A-Z]{3}$", message = "바스켓 통화는 3자리 통화 코드여야 합니다") String,
+            @NotNull @Positive(message = "바스켓 비중은 0보다 커야 합니다") BigDecimal> currencyBasket;
 }
@@ -15,7 +15,9 @@ import java.util.List;
 @AllArgsConstructor
 public class ExchangeRateResponse {
     
-    private BigDecimal currentRate;       // 현재 환율
+    private String currencyCode;          // 통화 코드 (USD, EUR, JPY ... / 통화 바스켓은 BASKET)
+    private BigDecimal currentRate;       // 현재 환율 (통화 1단위당 원화)
+    private RateSource rateSource;        // 현재 환율 출처 (NAVER, BACKUP, KOREAEXIM, DEFAULT)
     private BigDecimal changeRate1Day;    // 1일 변동률(%)
     private BigDecimal changeRate7Day;    // 7일 변동률(%)
     private BigDecimal changeRate30Day;   // 30일 변동률(%)
@@ -0,0 +1,25 @@
+package com.buulgyeong.forexanalyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * 출처가 붙은 환율 값
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class RateQuote {
+
+    private final BigDecimal rate;
+    private final RateSource source;
+    private final Instant fetchedAt;
+
+    public static RateQuote of(BigDecimal rate, RateSource source) {
+        return new RateQuote(rate, source, Instant.now());
+    }
+}
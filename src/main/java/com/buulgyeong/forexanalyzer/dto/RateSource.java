@@ -0,0 +1,11 @@
+package com.buulgyeong.forexanalyzer.dto;
+
+/**
+ * 환율 출처
+ */
+public enum RateSource {
+    NAVER,      // 네이버페이 증권 실시간 환율
+    BACKUP,     // 백업 환율 API (exchangerate-api)
+    KOREAEXIM,  // 한국수출입은행 고시 환율 (저장된 이력 포함)
+    DEFAULT     // 조회 가능한 값이 없어 사용한 기본값
+}
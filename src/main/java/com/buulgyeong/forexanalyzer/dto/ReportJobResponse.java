@@ -0,0 +1,21 @@
+package com.buulgyeong.forexanalyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    private String jobId;
+    private String status;        // QUEUED, RUNNING, COMPLETED, FAILED
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private String error;         // 실패 사유 (FAILED일 때)
+}
@@ -0,0 +1,40 @@
+package com.buulgyeong.forexanalyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 환율 리스크 시뮬레이션 결과
+ *
+ * 분위 구간은 열 단위 배열이며, i번째 값은 percentiles[i] 분위에 해당한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskSimulationResponse {
+    private String model;                       // GBM, BOOTSTRAP
+    private int paths;                          // 시뮬레이션 경로 수
+    private int horizonDays;                    // 예측 기간(일)
+    private int observations;                   // 추정에 사용한 일별 수익률 개수
+    private double dailyDrift;                  // 일별 로그 수익률 평균
+    private double dailyVolatility;             // 일별 로그 수익률 표준편차
+
+    private double currentRate;                 // 현재 환율
+    private double breakEvenRate;               // 손익분기점 환율
+    private double currentMargin;               // 현재 환율 기준 마진(원)
+    private double expectedMargin;              // 기간 말 기대 마진(원)
+
+    private double confidence;                  // 마진 위험액 신뢰수준 (예: 0.95)
+    private double marginAtRisk;                // 현재 마진 - 신뢰수준 하위 분위 마진(원)
+    private double breachProbabilityAtHorizon;  // 기간 말 환율이 손익분기점을 넘을 확률
+    private double breachProbabilityAnyTime;    // 기간 중 한 번이라도 손익분기점을 넘을 확률
+
+    private double[] percentiles;               // 분위 (%)
+    private double[] rateBands;                 // 분위별 기간 말 환율
+    private double[] marginBands;               // 분위별 기간 말 마진(원)
+
+    private long elapsedMs;                     // 시뮬레이션 소요 시간
+}
@@ -0,0 +1,28 @@
+package com.buulgyeong.forexanalyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 환율 민감도 곡선 (열 단위 배열)
+ *
+ * i번째 점은 exchangeRates[i], costs[i], margins[i], marginRates[i] 로 구성된다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensitivityCurveResponse {
+    private double currentRate;        // 현재 환율
+    private double breakEvenRate;      // 손익분기점 환율 (마진 0)
+    private double costSlope;          // 환율 1원 상승 시 원가 증가분(원)
+    private double costIntercept;      // 환율 0일 때 원가 (= 기타 비용)
+    private int points;                // 점 개수
+
+    private double[] exchangeRates;    // 환율 (환율 크기에 맞춘 자릿수, USD 소수 2자리)
+    private double[] costs;            // 원가 (원)
+    private double[] margins;          // 마진 (원)
+    private double[] marginRates;      // 마진율 (%, 소수 2자리)
+}
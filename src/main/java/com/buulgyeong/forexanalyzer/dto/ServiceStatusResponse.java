@@ -0,0 +1,23 @@
+package com.buulgyeong.forexanalyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceStatusResponse {
+    private boolean ready;              // 환율 이력 적재 완료 여부 (readiness)
+    private Long startupMs;             // 스프링 컨텍스트 기동 시간
+    private Long warmupMs;              // 기동 후 환율 이력 적재 시간
+    private Long timeToReadyMs;         // JVM 시작부터 ready까지
+    private int historyDays;            // USD 이력 일수
+    private LocalDate lastRateDate;     // USD 마지막 이력 날짜
+    private Set<String> currencies;     // 이력이 있는 통화
+}
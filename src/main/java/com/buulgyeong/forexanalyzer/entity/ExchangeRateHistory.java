@@ -11,25 +11,29 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "exchange_rate_history")
+@Table(name = "exchange_rate_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_exchange_rate_history_currency_date",
+                columnNames = {"currency_code", "rate_date"}))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ExchangeRateHistory {
     
+    // 시퀀스 1씩 할당 (대량 저장 MERGE가 행마다 NEXT VALUE FOR로 같은 시퀀스를 사용)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exchange_rate_history_seq")
+    @SequenceGenerator(name = "exchange_rate_history_seq", sequenceName = "exchange_rate_history_seq", allocationSize = 1)
     private Long id;
     
     @Column(nullable = false)
     private LocalDate rateDate;
     
-    @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal rate;
+    @Column(nullable = false, precision = 14, scale = 4)
+    private BigDecimal rate;            // 1단위당 원화 (JPY 등 100단위 고시 통화도 1단위 기준)
     
-    @Column(nullable = false)
-    private String currencyCode; // USD
+    @Column(nullable = false, length = 3)
+    private String currencyCode; // USD, EUR, JPY, CNY ...
     
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,151 @@
+package com.buulgyeong.forexanalyzer.external;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 외부 환율 소스별 서킷 브레이커
+ *
+ * - CLOSED: 호출 허용. 연속 실패가 failureThreshold회에 이르면 OPEN
+ * - OPEN: openDuration 동안 호출하지 않고 바로 실패 (느린 소스를 기다리지 않음)
+ * - HALF_OPEN: openDuration이 지나면 한 건만 시험 호출해 성공 시 CLOSED, 실패 시 다시 OPEN
+ *
+ * 모든 호출에 제한 시간을 걸고(초과 시 실패로 집계), 성공한 호출의 응답 시간을 최근 latencyWindow건까지 보관해
+ * 헤지 요청 지연 기준(p95)으로 쓴다.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * OPEN 상태라 호출하지 않은 경우
+     */
+    public static class OpenException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public OpenException(String name) {
+            super(name + " 서킷 OPEN - 호출 생략");
+        }
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final Duration timeout;
+
+    private final long[] latencies;
+    private int latencyCount;
+    private int latencyNext;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Duration timeout, int latencyWindow) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.timeout = timeout;
+        this.latencies = new long[latencyWindow];
+    }
+
+    /**
+     * 호출을 서킷 브레이커와 제한 시간으로 감싼다 (구독 시점에 허용 여부 판단)
+     */
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                return Mono.error(new OpenException(name));
+            }
+            long startedAt = System.nanoTime();
+            return call.timeout(timeout)
+                    .doOnSuccess(value -> onSuccess(System.nanoTime() - startedAt))
+                    .doOnError(this::onFailure)
+                    .doOnCancel(this::onCancel);
+        });
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 최근 성공 호출 응답 시간의 95 분위 (기록이 없으면 empty)
+     */
+    public synchronized Optional<Duration> p95Latency() {
+        if (latencyCount == 0) {
+            return Optional.empty();
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(0.95 * latencyCount) - 1;
+        return Optional.of(Duration.ofNanos(sorted[Math.max(0, index)]));
+    }
+
+    private synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+                probeInFlight = true;
+                return true;
+            default:
+                // HALF_OPEN: 시험 호출은 한 건만
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    private synchronized void onSuccess(long elapsedNanos) {
+        latencies[latencyNext] = elapsedNanos;
+        latencyNext = (latencyNext + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    private synchronized void onFailure(Throwable e) {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = System.nanoTime();
+            transition(State.OPEN);
+            log.warn("{} 서킷 OPEN: 연속 {}회 실패 ({})", name, consecutiveFailures,
+                    e instanceof TimeoutException ? "제한 시간 " + timeout.toMillis() + "ms 초과" : e.getMessage());
+        }
+    }
+
+    /**
+     * 헤지 요청에서 진 쪽처럼 결과 없이 취소된 호출은 성공/실패로 집계하지 않는다
+     */
+    private synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            log.info("{} 서킷 {} -> {}", name, state, next);
+            state = next;
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.buulgyeong.forexanalyzer.external;
 
+import com.buulgyeong.forexanalyzer.cache.SingleFlightCache;
 import com.buulgyeong.forexanalyzer.dto.HistoricalRate;
+import com.buulgyeong.forexanalyzer.dto.RateQuote;
+import com.buulgyeong.forexanalyzer.dto.RateSource;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -22,145 +32,322 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ExchangeRateApiClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final DateTimeFormatter SEARCH_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String NAVER_SPOT_KEY = "USD";
+    private static final int RATE_SCALE = 4;  // 100단위 고시 통화를 1단위로 바꿀 때의 소수 자릿수
+
+    private static final String NAVER_SPOT_URL = "https://finance.naver.com/marketindex/exchangeDetail.naver?marketindexCd=FX_USDKRW";
+
+    private final WebClient koreaEximWebClient;
+    private final WebClient naverWebClient;
+    private final WebClient backupRateWebClient;
     private final ObjectMapper objectMapper;
+    private final ForexMetrics metrics;
 
     private final String koreaeximUrl;
     private final String koreaeximApiKey;
     private final String backupUrl;
 
+    private final int backfillConcurrency;
+    private final int maxLookbackDays;
+    private final Duration backfillDeadline;
+
+    // 소스별 서킷 브레이커 (제한 시간 포함)와 실시간 환율 조회 전체 제한 시간 / 백업 API 헤지 지연
+    private final CircuitBreaker koreaEximBreaker;
+    private final CircuitBreaker naverBreaker;
+    private final CircuitBreaker backupBreaker;
+    private final Duration spotDeadline;
+    private final Duration hedgeDefaultDelay;
+    private final Duration hedgeMinDelay;
+
+    // 동시 요청 합치기 (키: 실시간 환율 / 날짜별 고시 환율 - 한 번의 응답에 전체 통화가 들어 있으므로 날짜 단위로 캐시)
+    private final SingleFlightCache<String, BigDecimal> spotRates;
+    private final SingleFlightCache<LocalDate, Map<String, BigDecimal>> dailyRates;
+
     public ExchangeRateApiClient(
-            WebClient.Builder webClientBuilder,
+            @Qualifier("koreaEximWebClient") WebClient koreaEximWebClient,
+            @Qualifier("naverWebClient") WebClient naverWebClient,
+            @Qualifier("backupRateWebClient") WebClient backupRateWebClient,
             ObjectMapper objectMapper,
+            ForexMetrics metrics,
             @Value("${external.exchange-rate.koreaexim-url}") String koreaeximUrl,
             @Value("${external.exchange-rate.koreaexim-api-key:}") String koreaeximApiKey,
-            @Value("${external.exchange-rate.backup-url}") String backupUrl) {
-        this.webClientBuilder = webClientBuilder;
+            @Value("${external.exchange-rate.backup-url}") String backupUrl,
+            @Value("${forex.backfill.concurrency:16}") int backfillConcurrency,
+            @Value("${forex.backfill.max-lookback-days:7}") int maxLookbackDays,
+            @Value("${forex.coalescing.spot-fresh-ms:10000}") long spotFreshMs,
+            @Value("${forex.coalescing.spot-stale-ms:300000}") long spotStaleMs,
+            @Value("${forex.coalescing.daily-fresh-ms:1800000}") long dailyFreshMs,
+            @Value("${forex.coalescing.daily-stale-ms:86400000}") long dailyStaleMs,
+            @Value("${forex.coalescing.daily-max-entries:2000}") int dailyMaxEntries,
+            @Value("${forex.resilience.failure-threshold:5}") int failureThreshold,
+            @Value("${forex.resilience.open-duration-ms:30000}") long openDurationMs,
+            @Value("${forex.resilience.latency-window:100}") int latencyWindow,
+            @Value("${forex.resilience.koreaexim-timeout-ms:4000}") long koreaEximTimeoutMs,
+            @Value("${forex.resilience.naver-timeout-ms:3000}") long naverTimeoutMs,
+            @Value("${forex.resilience.backup-timeout-ms:3000}") long backupTimeoutMs,
+            @Value("${forex.resilience.spot-deadline-ms:5000}") long spotDeadlineMs,
+            @Value("${forex.resilience.hedge-default-delay-ms:1000}") long hedgeDefaultDelayMs,
+            @Value("${forex.resilience.hedge-min-delay-ms:100}") long hedgeMinDelayMs,
+            @Value("${forex.resilience.backfill-deadline-ms:60000}") long backfillDeadlineMs) {
+        this.koreaEximWebClient = koreaEximWebClient;
+        this.naverWebClient = naverWebClient;
+        this.backupRateWebClient = backupRateWebClient;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
         this.koreaeximUrl = koreaeximUrl;
         this.koreaeximApiKey = koreaeximApiKey;
         this.backupUrl = backupUrl;
+        this.backfillConcurrency = backfillConcurrency;
+        this.maxLookbackDays = maxLookbackDays;
+        this.spotRates = new SingleFlightCache<>(Duration.ofMillis(spotFreshMs), Duration.ofMillis(spotStaleMs), 1);
+        this.dailyRates = new SingleFlightCache<>(Duration.ofMillis(dailyFreshMs), Duration.ofMillis(dailyStaleMs),
+                dailyMaxEntries);
+        metrics.monitorCache("naver_spot", spotRates);
+        metrics.monitorCache("koreaexim_daily", dailyRates);
+        this.backfillDeadline = Duration.ofMillis(backfillDeadlineMs);
+
+        Duration openDuration = Duration.ofMillis(openDurationMs);
+        this.koreaEximBreaker = new CircuitBreaker("KOREAEXIM", failureThreshold, openDuration,
+                Duration.ofMillis(koreaEximTimeoutMs), latencyWindow);
+        this.naverBreaker = new CircuitBreaker("NAVER", failureThreshold, openDuration,
+                Duration.ofMillis(naverTimeoutMs), latencyWindow);
+        this.backupBreaker = new CircuitBreaker("BACKUP", failureThreshold, openDuration,
+                Duration.ofMillis(backupTimeoutMs), latencyWindow);
+        this.spotDeadline = Duration.ofMillis(spotDeadlineMs);
+        this.hedgeDefaultDelay = Duration.ofMillis(hedgeDefaultDelayMs);
+        this.hedgeMinDelay = Duration.ofMillis(hedgeMinDelayMs);
     }
     
     /**
-     * 한국수출입은행 API에서 USD 환율 조회
+     * 한국수출입은행 API에서 해당 날짜의 전체 통화 환율 조회 (통화 코드 -> 1단위당 원화, 미고시면 빈 Map, 실패하면 값 없이 완료)
+     *
+     * 지난 날짜의 고시 환율은 바뀌지 않으므로 캐시 값을 우선 사용하고,
+     * 오늘 환율은 매번 새로 조회하되 같은 날짜의 동시 요청은 하나로 합친다.
+     * 백필에서 휴일(응답은 왔지만 고시 없음)과 실패(다시 조회해야 함)를 구분하는 데 사용한다.
+     */
+    private Mono<Map<String, BigDecimal>> fetchKoreaEximRates(LocalDate date) {
+        Mono<Map<String, BigDecimal>> rates = date.isBefore(LocalDate.now())
+                ? dailyRates.get(date, () -> requestKoreaEximRates(date))
+                : dailyRates.refresh(date, () -> requestKoreaEximRates(date));
+
+        return rates.onErrorResume(e -> {
+            // 서킷 OPEN 중에는 날짜마다 같은 경고를 남기지 않는다 (OPEN 전환 시 한 번 기록)
+            if (!(e instanceof CircuitBreaker.OpenException)) {
+                log.warn("한국수출입은행 API 호출 실패: {}", e.getMessage());
+            }
+            return Mono.empty();
+        });
+    }
+
+    private Mono<Map<String, BigDecimal>> requestKoreaEximRates(LocalDate date) {
+        String formattedDate = date.format(SEARCH_DATE_FORMAT);
+
+        return metrics.timeUpstream(ForexMetrics.KOREAEXIM, koreaEximBreaker.protect(koreaEximWebClient.get()
+                .uri(koreaeximUrl + "?authkey=" + koreaeximApiKey + "&searchdate=" + formattedDate + "&data=AP01")
+                .retrieve()
+                .bodyToMono(String.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("한국수출입은행 응답 본문 없음")))
+                .map(this::parseKoreaEximRates)));
+    }
+
+    /**
+     * 한국수출입은행 응답의 전체 통화 파싱 (미고시일은 빈 배열 -> 빈 Map)
+     *
+     * JPY(100), IDR(100)처럼 100단위 고시 통화는 1단위 환율로 바꾸고, 역외 위안(CNH)은 CNY로 저장한다.
+     * result가 1이 아닌 응답(인증키 오류, 일일 호출 한도 초과 등)이나 파싱할 수 없는 응답은
+     * 미고시일과 구분해야 하므로 IllegalStateException으로 실패시킨다 (캐시하지 않고 다음 수집 때 다시 조회).
      */
-    public Optional<BigDecimal> fetchExchangeRateFromKoreaExim(LocalDate date) {
+    Map<String, BigDecimal> parseKoreaEximRates(String response) {
+        JsonNode rootNode;
         try {
-            String formattedDate = date.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-            String response = webClientBuilder.build()
-                    .get()
-                    .uri(koreaeximUrl + "?authkey=" + koreaeximApiKey + "&searchdate=" + formattedDate + "&data=AP01")
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            if (response != null && !response.isEmpty()) {
-                JsonNode rootNode = objectMapper.readTree(response);
-
-                for (JsonNode node : rootNode) {
-                    String currencyCode = node.get("cur_unit").asText();
-                    if ("USD".equals(currencyCode)) {
-                        String rateStr = node.get("deal_bas_r").asText().replace(",", "");
-                        return Optional.of(new BigDecimal(rateStr));
-                    }
+            rootNode = objectMapper.readTree(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("한국수출입은행 응답 파싱 실패: " + e.getOriginalMessage(), e);
+        }
+        if (!rootNode.isArray()) {
+            throw new IllegalStateException("한국수출입은행 응답이 배열이 아님");
+        }
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (JsonNode node : rootNode) {
+            int result = node.path("result").asInt(1);
+            if (result != 1) {
+                throw new IllegalStateException("한국수출입은행 응답 오류 (result=" + result + ")");
+            }
+
+            String unit = node.path("cur_unit").asText();
+            String rateStr = node.path("deal_bas_r").asText().replace(",", "");
+            if (unit.isEmpty() || rateStr.isEmpty()) {
+                continue;
+            }
+
+            try {
+                BigDecimal rate = new BigDecimal(rateStr);
+                String currencyCode = unit;
+                int unitStart = unit.indexOf('(');
+                if (unitStart > 0) {
+                    // 예: JPY(100) -> JPY, 환율 / 100
+                    int per = Integer.parseInt(unit.substring(unitStart + 1, unit.indexOf(')', unitStart)));
+                    currencyCode = unit.substring(0, unitStart);
+                    rate = rate.divide(BigDecimal.valueOf(per), RATE_SCALE, RoundingMode.HALF_UP);
                 }
+                if ("CNH".equals(currencyCode)) {
+                    currencyCode = "CNY";
+                }
+                if (!"KRW".equals(currencyCode)) {
+                    rates.put(currencyCode, rate);
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("한국수출입은행 환율 파싱 실패 (" + unit + ": " + rateStr + ")", e);
             }
-        } catch (Exception e) {
-            log.warn("한국수출입은행 API 호출 실패: {}", e.getMessage());
         }
-        
-        return Optional.empty();
+
+        return rates;
     }
 
     /**
-     * 네이버페이 증권에서 실시간 환율 스크래핑
+     * 실시간 USD 환율 (출처 포함, 항상 새로 조회, 모든 소스 실패 시 empty)
      */
-    public BigDecimal fetchCurrentExchangeRateFromNaver() {
-        try {
-            Connection connection = Jsoup.connect("https://finance.naver.com/marketindex/exchangeDetail.naver?marketindexCd=FX_USDKRW");
-            Document document = connection.get();
+    public Optional<RateQuote> fetchSpotQuote() {
+        return fetchSpotQuoteAsync().blockOptional();
+    }
+
+    /**
+     * 실시간 USD 환율 소스 체인 (네이버 → 백업 API)
+     *
+     * 네이버가 최근 응답 시간의 p95 안에 답하지 않거나 먼저 실패하면 백업 API를 함께 호출하고(헤지 요청),
+     * 먼저 도착한 값을 출처와 함께 반환한다. 전체가 spotDeadline을 넘기면 empty.
+     */
+    public Mono<RateQuote> fetchSpotQuoteAsync() {
+        Mono<RateQuote> primary = spotRates.refresh(NAVER_SPOT_KEY, this::requestNaverSpotRate)
+                .map(rate -> RateQuote.of(rate, RateSource.NAVER))
+                .cache();
 
-            Element p = document.select("p.no_today").first();
-            String rateStr = p.select("span:not(.txt_won)").stream()
-                    .map(Element::text)
-                    .collect(Collectors.joining())
-                    .replace(",", "");
+        Mono<Void> primaryFailed = primary.then(Mono.<Void>never()).onErrorResume(e -> Mono.empty());
+        Mono<RateQuote> hedge = Mono.delay(hedgeDelay()).then().or(primaryFailed)
+                .then(requestBackupRate().map(rate -> RateQuote.of(rate, RateSource.BACKUP)));
+
+        return Mono.firstWithValue(primary, hedge)
+                .timeout(spotDeadline)
+                .onErrorResume(e -> {
+                    log.warn("실시간 환율 조회 실패 (NAVER, BACKUP): {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
 
-            return new BigDecimal(rateStr);
+    /**
+     * 헤지 요청 지연 = 네이버 최근 응답 시간 p95 (기록이 없으면 기본값, 최소 hedgeMinDelay)
+     */
+    private Duration hedgeDelay() {
+        Duration p95 = naverBreaker.p95Latency().orElse(hedgeDefaultDelay);
+        return p95.compareTo(hedgeMinDelay) < 0 ? hedgeMinDelay : p95;
+    }
 
-        } catch (Exception e) {
-            log.warn("NAVER 환율 스크래핑 실패: {}", e.getMessage());
-            return BigDecimal.valueOf(1380.0);
+    private Mono<BigDecimal> requestNaverSpotRate() {
+        return metrics.timeUpstream(ForexMetrics.NAVER, naverBreaker.protect(naverWebClient.get()
+                .uri(NAVER_SPOT_URL)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(ExchangeRateApiClient::parseNaverSpotRate)));
+    }
+
+    /**
+     * 네이버 환율 페이지 HTML에서 현재 환율 추출
+     */
+    static BigDecimal parseNaverSpotRate(String html) {
+        Document document = Jsoup.parse(html);
+
+        Element p = document.select("p.no_today").first();
+        if (p == null) {
+            throw new IllegalStateException("NAVER 환율 요소(p.no_today)를 찾을 수 없음");
         }
+        String rateStr = p.select("span:not(.txt_won)").stream()
+                .map(Element::text)
+                .collect(Collectors.joining())
+                .replace(",", "");
+
+        return new BigDecimal(rateStr);
     }
     
+    private Mono<BigDecimal> requestBackupRate() {
+        return metrics.timeUpstream(ForexMetrics.BACKUP, backupBreaker.protect(backupRateWebClient.get()
+                .uri(backupUrl)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::parseBackupRate)));
+    }
+
     /**
-     * 백업 API에서 USD/KRW 환율 조회
+     * 백업 API 응답({"rates": {"KRW": ...}})에서 원화 환율 추출
      */
-    public Optional<BigDecimal> fetchExchangeRateFromBackup() {
+    BigDecimal parseBackupRate(String response) {
         try {
-            String response = webClientBuilder.build()
-                    .get()
-                    .uri(backupUrl)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            
-            if (response != null) {
-                JsonNode rootNode = objectMapper.readTree(response);
-                JsonNode ratesNode = rootNode.get("rates");
-                
-                if (ratesNode != null && ratesNode.has("KRW")) {
-                    double krwRate = ratesNode.get("KRW").asDouble();
-                    return Optional.of(BigDecimal.valueOf(krwRate));
-                }
+            JsonNode krw = objectMapper.readTree(response).path("rates").path("KRW");
+            if (!krw.isNumber()) {
+                throw new IllegalStateException("백업 API 응답에 KRW 환율이 없음");
             }
-        } catch (Exception e) {
-            log.warn("백업 환율 API 호출 실패: {}", e.getMessage());
+            return krw.decimalValue();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("백업 API 응답 파싱 실패: " + e.getOriginalMessage(), e);
         }
-        
-        return Optional.empty();
     }
 
-    public List<HistoricalRate> fetchLast30Days() {
-        List<HistoricalRate> rates = new ArrayList<>();
-        Map<LocalDate, BigDecimal> cache = new HashMap<>();
+    /**
+     * 최근 N일 전체 통화 고시 환율 (오늘 포함, 통화 코드 -> 날짜 오름차순 환율, 고시된 날짜만)
+     */
+    public Map<String, List<HistoricalRate>> fetchLastDaysAllCurrencies(int days) {
         LocalDate today = LocalDate.now();
+        return fetchPublishedRangeAllCurrenciesAsync(today.minusDays(days - 1L), today).block();
+    }
 
-        for (int i = 0; i < 30; i++) {
-            LocalDate targetDate = today.minusDays(i);
-            BigDecimal rate = null;
-            LocalDate cursor = targetDate;
-
-            int maxLookbackDays = 7;
-            int lookback = 0;
-
-            while (rate == null && lookback < maxLookbackDays) {
-                if (cache.containsKey(cursor)) {
-                    rate = cache.get(cursor);
-                } else {
-                    Optional<BigDecimal> rateOpt = fetchExchangeRateFromKoreaExim(cursor);
-                    if (rateOpt.isPresent()) {
-                        rate = rateOpt.get();
-                        cache.put(cursor, rate);
-                    } else {
-                        cursor = cursor.minusDays(1);
-                        lookback++;
-                    }
-                }
-            }
+    /**
+     * 기간 내 전체 통화 고시 환율 백필 (실제로 고시된 날짜만, 저장용)
+     *
+     * 조회가 필요한 영업일을 중복 없이 한 번에 모아 최대 backfillConcurrency개씩 동시에 요청한다.
+     * 날짜당 요청 한 번으로 모든 통화를 받으므로 통화 수와 무관하게 호출 수는 같다.
+     * 기간 첫날이 휴일이어도 직전 영업일을 알 수 있도록 lookback만큼 앞 날짜의 고시 환율도 포함한다.
+     *
+     * 실패했거나 제한 시간 안에 응답이 없는 날짜가 있으면 그 날짜부터는 결과에서 뺀다.
+     * 저장된 마지막 관측일 다음 날부터 다시 수집하므로 빠진 날짜는 다음 수집 때 채워진다.
+     */
+    public Mono<Map<String, List<HistoricalRate>>> fetchPublishedRangeAllCurrenciesAsync(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> queryDates = startDate.minusDays(maxLookbackDays)
+                .datesUntil(endDate.plusDays(1))
+                .filter(ExchangeRateApiClient::isWeekday)
+                .collect(Collectors.toList());
 
-            if (rate == null) {
-                rate = BigDecimal.valueOf(1380.0);
-            }
+        return Flux.fromIterable(queryDates)
+                .flatMap(date -> fetchKoreaEximRates(date)
+                        .map(rates -> Map.entry(date, rates)), backfillConcurrency)
+                .take(backfillDeadline)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(answered -> {
+                    LocalDate firstMissing = queryDates.stream()
+                            .filter(date -> !answered.containsKey(date))
+                            .findFirst()
+                            .orElse(null);
+                    if (firstMissing != null) {
+                        log.warn("환율 백필 미완료 (제한 시간 {}ms): {}일 중 {}일 수신, {} 이후는 다음 수집 때 다시 조회",
+                                backfillDeadline.toMillis(), queryDates.size(), answered.size(), firstMissing);
+                    }
 
-            rates.add(0, new HistoricalRate(targetDate, rate));
-            cache.put(targetDate, rate);
-        }
+                    Map<String, List<HistoricalRate>> byCurrency = new TreeMap<>();
+                    for (LocalDate date : queryDates) {
+                        if (date.equals(firstMissing)) {
+                            break;
+                        }
+                        answered.get(date).forEach((currencyCode, rate) -> byCurrency
+                                .computeIfAbsent(currencyCode, code -> new ArrayList<>())
+                                .add(new HistoricalRate(date, rate)));
+                    }
+                    return byCurrency;
+                });
+    }
 
-        return rates;
+    private static boolean isWeekday(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
     }
 
 }
@@ -1,18 +1,25 @@
 package com.buulgyeong.forexanalyzer.external;
 
+import com.buulgyeong.forexanalyzer.cache.LlmResponseCache;
 import com.buulgyeong.forexanalyzer.dto.DashboardResponse;
 import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
 import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,39 +28,93 @@ import java.util.Map;
 @Slf4j
 public class UpstageAiClient {
 
-    private final WebClient.Builder webClientBuilder;
+    /** 통합 응답 한 항목의 최대 길이 (넘으면 잘못된 응답으로 보고 기본 메시지 사용) */
+    private static final int MAX_INSIGHT_CHARS = 2000;
+
+    /** 통합 응답 JSON 스키마 (evaluation, strategy 두 문자열) */
+    private static final Map<String, Object> INSIGHTS_RESPONSE_FORMAT = Map.of(
+            "type", "json_schema",
+            "json_schema", Map.of(
+                    "name", "forex_insights",
+                    "strict", true,
+                    "schema", Map.of(
+                            "type", "object",
+                            "properties", Map.of(
+                                    "evaluation", Map.of("type", "string"),
+                                    "strategy", Map.of("type", "string")),
+                            "required", List.of("evaluation", "strategy"),
+                            "additionalProperties", false)));
+
+    private final WebClient upstageWebClient;
     private final ObjectMapper objectMapper;
+    private final LlmResponseCache responseCache;
+    private final ForexMetrics metrics;
 
     private final String apiUrl;
     private final String apiKey;
 
+    // 캐시 키/프롬프트 입력값 반올림 (비슷한 입력은 같은 응답을 재사용)
+    // 환율은 통화마다 크기가 달라(USD 1,300원대, JPY 9원대, IDR 0.09원대) 현재 환율 기준 유효 자릿수로 반올림한다
+    private final int rateSignificantDigits;
+    private final BigDecimal percentBucket;
+
     public UpstageAiClient(
-            WebClient.Builder webClientBuilder,
+            @Qualifier("upstageWebClient") WebClient upstageWebClient,
             ObjectMapper objectMapper,
+            LlmResponseCache responseCache,
+            ForexMetrics metrics,
             @Value("${external.upstage.api-url:}") String apiUrl,
-            @Value("${external.upstage.api-key:}") String apiKey) {
-        this.webClientBuilder = webClientBuilder;
+            @Value("${external.upstage.api-key:}") String apiKey,
+            @Value("${forex.ai-cache.rate-significant-digits:4}") int rateSignificantDigits,
+            @Value("${forex.ai-cache.percent-bucket:0.1}") BigDecimal percentBucket) {
+        this.upstageWebClient = upstageWebClient;
         this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+        this.metrics = metrics;
         this.apiUrl = apiUrl;
         this.apiKey = apiKey;
+        this.rateSignificantDigits = rateSignificantDigits;
+        this.percentBucket = percentBucket;
+        metrics.monitorCache("llm", responseCache);
     }
 
     /**
      * 환율 상태 평가 생성
      */
-    public String generateExchangeRateEvaluation(BigDecimal currentRate, BigDecimal breakEvenRate, 
+    public String generateExchangeRateEvaluation(String currency, BigDecimal currentRate, BigDecimal breakEvenRate, 
                                                   BigDecimal targetRate, BigDecimal targetMarginRate) {
+        return generateExchangeRateEvaluationAsync(currency, currentRate, breakEvenRate, targetRate, targetMarginRate).block();
+    }
+    
+    /**
+     * 환율 상태 평가 생성 (non-blocking, 실패 시 기본 메시지로 완료)
+     */
+    public Mono<String> generateExchangeRateEvaluationAsync(String currency, BigDecimal currentRate, BigDecimal breakEvenRate,
+                                                            BigDecimal targetRate, BigDecimal targetMarginRate) {
         if (apiKey == null || apiKey.isEmpty()) {
-            return generateDefaultEvaluation(currentRate, breakEvenRate, targetRate, targetMarginRate);
+            return Mono.fromSupplier(() -> generateDefaultEvaluation(currency, currentRate, breakEvenRate, targetRate, targetMarginRate));
+        }
+        
+        BigDecimal rateBucket = rateBucket(currentRate);
+        BigDecimal current = quantize(currentRate, rateBucket);
+        BigDecimal breakEven = quantize(breakEvenRate, rateBucket);
+        BigDecimal target = quantize(targetRate, rateBucket);
+        BigDecimal targetMargin = quantize(targetMarginRate, percentBucket);
+        
+        String cacheKey = LlmResponseCache.key("evaluation", currency, current.toPlainString(), breakEven.toPlainString(),
+                target.toPlainString(), targetMargin.toPlainString());
+        String cached = responseCache.get(cacheKey);
+        if (cached != null) {
+            return Mono.just(cached);
         }
         
         String prompt = String.format("""
             당신은 제조업 환율 분석 전문가입니다.
             현재 환율 상황을 분석하고 발주 권장 여부를 평가해주세요.
             
-            - 현재 환율: %.1f원/USD
-            - 손익분기점 환율: %.1f원/USD
-            - 목표 마진 달성 환율: %.1f원/USD
+            - 현재 환율: %s원/%s
+            - 손익분기점 환율: %s원/%s
+            - 목표 마진 달성 환율: %s원/%s
             - 목표 마진율: %.1f%%
             
             다음 형식으로 간결하게 답변해주세요 (3-4문장):
@@ -70,36 +131,56 @@ public class UpstageAiClient {
             6. 문단이나 항목 사이에 빈 줄을 넣어서 구분하라.
             
             """, 
-            currentRate.doubleValue(),
-            breakEvenRate.doubleValue(),
-            targetRate.doubleValue(),
-            targetMarginRate.doubleValue()
+            current.toPlainString(), currency,
+            breakEven.toPlainString(), currency,
+            target.toPlainString(), currency,
+            targetMargin.doubleValue()
         );
         
-        try {
-            return callUpstageApi(prompt);
-        } catch (Exception e) {
-            log.warn("Upstage AI API 호출 실패: {}", e.getMessage());
-            return generateDefaultEvaluation(currentRate, breakEvenRate, targetRate, targetMarginRate);
-        }
+        return responseCache.load(cacheKey, () -> callUpstageApiAsync(requestBody(prompt, 500)))
+                .onErrorResume(e -> {
+                    log.warn("Upstage AI API 호출 실패: {}", e.getMessage());
+                    return Mono.fromSupplier(() -> generateDefaultEvaluation(currency, currentRate, breakEvenRate, targetRate, targetMarginRate));
+                });
     }
     
     /**
      * 모니터링 전략 생성
      */
-    public String generateMonitoringStrategy(BigDecimal currentRate, BigDecimal breakEvenRate,
+    public String generateMonitoringStrategy(String currency, BigDecimal currentRate, BigDecimal breakEvenRate,
                                               BigDecimal targetRate, BigDecimal changeRate30Day) {
+        return generateMonitoringStrategyAsync(currency, currentRate, breakEvenRate, targetRate, changeRate30Day).block();
+    }
+    
+    /**
+     * 모니터링 전략 생성 (non-blocking, 실패 시 기본 메시지로 완료)
+     */
+    public Mono<String> generateMonitoringStrategyAsync(String currency, BigDecimal currentRate, BigDecimal breakEvenRate,
+                                                        BigDecimal targetRate, BigDecimal changeRate30Day) {
         if (apiKey == null || apiKey.isEmpty()) {
-            return generateDefaultStrategy(currentRate, breakEvenRate, targetRate, changeRate30Day);
+            return Mono.fromSupplier(() -> generateDefaultStrategy(currency, currentRate, breakEvenRate, targetRate, changeRate30Day));
+        }
+        
+        BigDecimal rateBucket = rateBucket(currentRate);
+        BigDecimal current = quantize(currentRate, rateBucket);
+        BigDecimal breakEven = quantize(breakEvenRate, rateBucket);
+        BigDecimal target = quantize(targetRate, rateBucket);
+        BigDecimal change30Day = quantize(changeRate30Day, percentBucket);
+        
+        String cacheKey = LlmResponseCache.key("strategy", currency, current.toPlainString(), breakEven.toPlainString(),
+                target.toPlainString(), change30Day.toPlainString());
+        String cached = responseCache.get(cacheKey);
+        if (cached != null) {
+            return Mono.just(cached);
         }
         
         String prompt = String.format("""
             당신은 제조업 환율 위험 관리 전문가입니다.
             다음 환율 상황에 맞는 모니터링 전략을 제안해주세요.
             
-            - 현재 환율: %.1f원/USD
-            - 손익분기점 환율: %.1f원/USD
-            - 목표 달성 환율: %.1f원/USD
+            - 현재 환율: %s원/%s
+            - 손익분기점 환율: %s원/%s
+            - 목표 달성 환율: %s원/%s
             - 30일 환율 변동률: %.2f%%
             
             다음 형식으로 3가지 전략을 bullet point로 제안해주세요:
@@ -116,18 +197,167 @@ public class UpstageAiClient {
             6. 문단이나 항목 사이에 빈 줄을 넣어서 구분하라.
             
             """,
-            currentRate.doubleValue(),
-            breakEvenRate.doubleValue(),
-            targetRate.doubleValue(),
-            changeRate30Day.doubleValue()
+            current.toPlainString(), currency,
+            breakEven.toPlainString(), currency,
+            target.toPlainString(), currency,
+            change30Day.doubleValue()
         );
         
-        try {
-            return callUpstageApi(prompt);
+        return responseCache.load(cacheKey, () -> callUpstageApiAsync(requestBody(prompt, 500)))
+                .onErrorResume(e -> {
+                    log.warn("Upstage AI API 호출 실패: {}", e.getMessage());
+                    return Mono.fromSupplier(() -> generateDefaultStrategy(currency, currentRate, breakEvenRate, targetRate, changeRate30Day));
+                });
+    }
+
+    /**
+     * 환율 상태 평가 + 모니터링 전략을 한 번의 호출로 생성 (JSON 스키마 응답, non-blocking)
+     *
+     * 두 항목은 기존 개별 호출과 같은 캐시 키에 저장되므로 개별 호출과 캐시를 공유한다.
+     * 응답에서 빠졌거나 검증에 실패한 항목만 기본 메시지로 채운다.
+     */
+    public Mono<Insights> generateInsightsAsync(String currency, BigDecimal currentRate, BigDecimal breakEvenRate, BigDecimal targetRate,
+                                               BigDecimal targetMarginRate, BigDecimal changeRate30Day) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return Mono.fromSupplier(() -> new Insights(
+                    generateDefaultEvaluation(currency, currentRate, breakEvenRate, targetRate, targetMarginRate),
+                    generateDefaultStrategy(currency, currentRate, breakEvenRate, targetRate, changeRate30Day)));
+        }
+
+        BigDecimal rateBucket = rateBucket(currentRate);
+        BigDecimal current = quantize(currentRate, rateBucket);
+        BigDecimal breakEven = quantize(breakEvenRate, rateBucket);
+        BigDecimal target = quantize(targetRate, rateBucket);
+        BigDecimal targetMargin = quantize(targetMarginRate, percentBucket);
+        BigDecimal change30Day = quantize(changeRate30Day, percentBucket);
+
+        String evaluationKey = LlmResponseCache.key("evaluation", currency, current.toPlainString(), breakEven.toPlainString(),
+                target.toPlainString(), targetMargin.toPlainString());
+        String strategyKey = LlmResponseCache.key("strategy", currency, current.toPlainString(), breakEven.toPlainString(),
+                target.toPlainString(), change30Day.toPlainString());
+        String cachedEvaluation = responseCache.get(evaluationKey);
+        String cachedStrategy = responseCache.get(strategyKey);
+
+        Mono<Insights> generated;
+        if (cachedEvaluation != null && cachedStrategy != null) {
+            generated = Mono.just(new Insights(cachedEvaluation, cachedStrategy));
+        } else {
+            String prompt = String.format("""
+                당신은 제조업 환율 분석 및 환위험 관리 전문가입니다.
+                아래 환율 상황에 대해 두 항목을 작성해 JSON으로만 답변해주세요.
+                
+                - 현재 환율: %s원/%s
+                - 손익분기점 환율: %s원/%s
+                - 목표 마진 달성 환율: %s원/%s
+                - 목표 마진율: %.1f%%
+                - 30일 환율 변동률: %.2f%%
+                
+                evaluation: 현재 환율 상태 평가 (3-4문장)
+                1. 현재 환율 상태 평가 (발주 적합/부적합)
+                2. 예상 마진 상황
+                3. 발주 권장 여부
+                
+                strategy: 모니터링 전략 3가지
+                • 환율 모니터링 기준점
+                • 환위험 헷지 전략
+                • 재고 관리 관련 조언
+                
+                [작성 규칙]
+                1. 데이터 기반 분석만 작성하고, 과도한 추측이나 데이터에 없는 정보는 포함하지 않는다.
+                2. 비즈니스 전략·원가 관리 측면에서 해석을 명확히 포함한다.
+                3. **절대로** #, ##, ###, **, -, * 등 마크다운 문법을 사용하지 마라.
+                4. 번호 매기기(1. 2. 3.)와 줄바꿈만 사용해서 일반 텍스트로 작성하라.
+                5. 굵은 글씨, 기울임, 리스트 기호 사용 금지.
+                6. 문단이나 항목 사이에 빈 줄을 넣어서 구분하라.
+                
+                """,
+                current.toPlainString(), currency,
+                breakEven.toPlainString(), currency,
+                target.toPlainString(), currency,
+                targetMargin.doubleValue(),
+                change30Day.doubleValue()
+            );
+
+            Map<String, Object> requestBody = requestBody(prompt, 900);
+            requestBody.put("response_format", INSIGHTS_RESPONSE_FORMAT);
+            // 같은 입력의 동시 통합 호출은 응답 하나를 공유한다 (저장은 항목별 키로)
+            String insightsKey = LlmResponseCache.key("insights", evaluationKey, strategyKey);
+            generated = responseCache.join(insightsKey, () -> callUpstageApiAsync(requestBody))
+                    .map(this::parseInsights)
+                    .map(parsed -> {
+                        String evaluation = cachedEvaluation;
+                        String strategy = cachedStrategy;
+                        if (evaluation == null && parsed.evaluation() != null) {
+                            evaluation = parsed.evaluation();
+                            responseCache.put(evaluationKey, evaluation);
+                        }
+                        if (strategy == null && parsed.strategy() != null) {
+                            strategy = parsed.strategy();
+                            responseCache.put(strategyKey, strategy);
+                        }
+                        return new Insights(evaluation, strategy);
+                    })
+                    .onErrorResume(e -> {
+                        log.warn("Upstage AI API 호출 실패: {}", e.getMessage());
+                        return Mono.just(new Insights(cachedEvaluation, cachedStrategy));
+                    });
+        }
+
+        return generated.map(insights -> new Insights(
+                insights.evaluation() != null ? insights.evaluation()
+                        : generateDefaultEvaluation(currency, currentRate, breakEvenRate, targetRate, targetMarginRate),
+                insights.strategy() != null ? insights.strategy()
+                        : generateDefaultStrategy(currency, currentRate, breakEvenRate, targetRate, changeRate30Day)));
+    }
+
+    /**
+     * 환율 상태 평가 / 모니터링 전략 (통합 호출 결과)
+     */
+    public record Insights(String evaluation, String strategy) {
+    }
+
+    /**
+     * 통합 응답 content에서 evaluation / strategy 추출 (스트리밍 파서)
+     *
+     * 코드 블록 등으로 감싼 경우 첫 '{'부터 읽는다.
+     * 응답이 중간에 잘려 파싱 오류가 나도 그 전까지 읽은 항목은 사용한다.
+     */
+    private Insights parseInsights(String content) {
+        String evaluation = null;
+        String strategy = null;
+        int start = content != null ? content.indexOf('{') : -1;
+        if (start < 0) {
+            log.warn("Upstage 통합 응답에 JSON 없음");
+            return new Insights(null, null);
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(content.substring(start))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new Insights(null, null);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_STRING && "evaluation".equals(field)) {
+                    evaluation = validInsight(parser.getText());
+                } else if (value == JsonToken.VALUE_STRING && "strategy".equals(field)) {
+                    strategy = validInsight(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
         } catch (Exception e) {
-            log.warn("Upstage AI API 호출 실패: {}", e.getMessage());
-            return generateDefaultStrategy(currentRate, breakEvenRate, targetRate, changeRate30Day);
+            log.warn("Upstage 통합 응답 파싱 중단: {}", e.getMessage());
+        }
+        return new Insights(evaluation, strategy);
+    }
+
+    private static String validInsight(String text) {
+        if (text == null) {
+            return null;
         }
+        String trimmed = text.strip();
+        return trimmed.isEmpty() || trimmed.length() > MAX_INSIGHT_CHARS ? null : trimmed;
     }
 
     /**
@@ -170,76 +400,116 @@ public class UpstageAiClient {
         }
     }
     
+    /**
+     * 현재 환율 기준 유효 자릿수에 맞춘 반올림 단위 (USD 1385 -> 1, JPY 9.47 -> 0.001, IDR 0.0912 -> 0.00001)
+     *
+     * 같은 요청의 손익분기/목표 환율도 같은 단위로 반올림한다.
+     */
+    BigDecimal rateBucket(BigDecimal referenceRate) {
+        BigDecimal reference = referenceRate.abs();
+        if (reference.signum() == 0) {
+            return BigDecimal.ONE;
+        }
+        int magnitude = reference.precision() - reference.scale() - 1;
+        return BigDecimal.ONE.movePointRight(magnitude - rateSignificantDigits + 1);
+    }
+    
+    /**
+     * bucket 단위로 반올림 (캐시 키와 프롬프트에 같은 값 사용)
+     */
+    static BigDecimal quantize(BigDecimal value, BigDecimal bucket) {
+        return value.divide(bucket, 0, RoundingMode.HALF_UP)
+                .multiply(bucket)
+                .stripTrailingZeros();
+    }
+    
     private String callUpstageApi(String prompt) {
+        return callUpstageApiAsync(requestBody(prompt, 500)).block();
+    }
+    
+    private Map<String, Object> requestBody(String prompt, int maxTokens) {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", "solar-pro2");
         requestBody.put("messages", List.of(
             Map.of("role", "user", "content", prompt)
         ));
-        requestBody.put("max_tokens", 500);
+        requestBody.put("max_tokens", maxTokens);
         requestBody.put("temperature", 0.7);
-        
-        String response = webClientBuilder.build()
+        return requestBody;
+    }
+    
+    /**
+     * chat completion 호출 후 choices[0].message.content 반환 (응답이 없거나 형식이 다르면 error)
+     */
+    private Mono<String> callUpstageApiAsync(Map<String, Object> requestBody) {
+        return metrics.timeUpstream(ForexMetrics.UPSTAGE, upstageWebClient
             .post()
             .uri(apiUrl)
             .header("Authorization", "Bearer " + apiKey)
             .contentType(MediaType.APPLICATION_JSON)
             .bodyValue(requestBody)
             .retrieve()
-            .bodyToMono(String.class)
-            .block();
-        
-        if (response != null) {
-            try {
-                JsonNode rootNode = objectMapper.readTree(response);
-                JsonNode choicesNode = rootNode.get("choices");
-                if (choicesNode != null && choicesNode.isArray() && !choicesNode.isEmpty()) {
-                    return choicesNode.get(0).get("message").get("content").asText();
-                }
-            } catch (Exception e) {
-                log.error("Upstage API 응답 파싱 실패", e);
+            .bodyToMono(String.class))
+            .map(this::extractContent)
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("Upstage API 응답이 없음")));
+    }
+    
+    private String extractContent(String response) {
+        try {
+            JsonNode rootNode = objectMapper.readTree(response);
+            JsonNode choicesNode = rootNode.get("choices");
+            if (choicesNode != null && choicesNode.isArray() && !choicesNode.isEmpty()) {
+                return choicesNode.get(0).get("message").get("content").asText();
             }
+        } catch (Exception e) {
+            log.error("Upstage API 응답 파싱 실패", e);
         }
         
         throw new RuntimeException("Upstage API 응답 파싱 실패");
     }
     
-    private String generateDefaultEvaluation(BigDecimal currentRate, BigDecimal breakEvenRate,
+    /**
+     * AI 미사용/실패 시 기본 환율 평가
+     */
+    public String generateDefaultEvaluation(String currency, BigDecimal currentRate, BigDecimal breakEvenRate,
                                               BigDecimal targetRate, BigDecimal targetMarginRate) {
-        double current = currentRate.doubleValue();
-        double breakEven = breakEvenRate.doubleValue();
-        double target = targetRate.doubleValue();
+        metrics.fallback(ForexMetrics.FALLBACK_EVALUATION);
+        BigDecimal rateBucket = rateBucket(currentRate);
         
-        if (current <= target) {
+        if (currentRate.compareTo(targetRate) <= 0) {
             return String.format(
-                "현재 환율(%.1f원)은 목표 마진율 %.1f%%를 달성할 수 있는 최적의 구간입니다. " +
+                "현재 환율(%s원/%s)은 목표 마진율 %.1f%%를 달성할 수 있는 최적의 구간입니다. " +
                 "적극적인 발주를 권장하며, 환율 상승 전 충분한 재고 확보를 고려하세요.",
-                current, targetMarginRate.doubleValue()
+                quantize(currentRate, rateBucket).toPlainString(), currency, targetMarginRate.doubleValue()
             );
-        } else if (current <= breakEven) {
+        } else if (currentRate.compareTo(breakEvenRate) <= 0) {
             return String.format(
-                "현재 환율(%.1f원)은 흑자 유지가 가능하나 목표 마진에는 미달하는 구간입니다. " +
+                "현재 환율(%s원/%s)은 흑자 유지가 가능하나 목표 마진에는 미달하는 구간입니다. " +
                 "필수 물량 위주의 선별적 발주를 권장합니다.",
-                current
+                quantize(currentRate, rateBucket).toPlainString(), currency
             );
         } else {
             return String.format(
-                "현재 환율(%.1f원)은 손익분기점(%.1f원)을 초과하여 적자 위험이 있는 구간입니다. " +
+                "현재 환율(%s원/%s)은 손익분기점(%s원/%s)을 초과하여 적자 위험이 있는 구간입니다. " +
                 "가능하다면 발주를 지연하고 환율 하락을 기다리는 것이 좋습니다.",
-                current, breakEven
+                quantize(currentRate, rateBucket).toPlainString(), currency,
+                quantize(breakEvenRate, rateBucket).toPlainString(), currency
             );
         }
     }
     
-    private String generateDefaultStrategy(BigDecimal currentRate, BigDecimal breakEvenRate,
+    /**
+     * AI 미사용/실패 시 기본 모니터링 전략
+     */
+    public String generateDefaultStrategy(String currency, BigDecimal currentRate, BigDecimal breakEvenRate,
                                             BigDecimal targetRate, BigDecimal changeRate30Day) {
-        double target = targetRate.doubleValue();
-        double breakEven = breakEvenRate.doubleValue();
+        metrics.fallback(ForexMetrics.FALLBACK_STRATEGY);
+        BigDecimal target = quantize(targetRate, rateBucket(currentRate));
         
         return String.format("""
-            • 환율이 %.1f원 이하로 하락 시 즉시 발주를 검토하세요
+            • 환율이 %s원/%s 이하로 하락 시 즉시 발주를 검토하세요
             • 환율 상승 추세가 예상되면 선물환 계약을 통해 환율을 고정하는 것을 고려하세요
             • 재고 보유 기간(30일)을 고려하여 환율 변동 리스크를 관리하세요
-            """, target);
+            """, target.toPlainString(), currency);
     }
 }
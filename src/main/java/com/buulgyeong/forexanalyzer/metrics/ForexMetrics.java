@@ -0,0 +1,219 @@
+package com.buulgyeong.forexanalyzer.metrics;
+
+import com.buulgyeong.forexanalyzer.cache.LlmResponseCache;
+import com.buulgyeong.forexanalyzer.cache.SingleFlightCache;
+import com.buulgyeong.forexanalyzer.external.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 환율 분석 파이프라인 / 외부 호출 지표 (Micrometer, /actuator/prometheus)
+ *
+ * - forex.upstream{upstream, outcome}: 외부 호출 시간 (outcome: success, error, timeout, circuit_open, cancelled)
+ * - forex.upstream.in_flight{upstream}: 진행 중인 외부 호출 수
+ * - forex.stage{stage}: 파이프라인 단계별 시간
+ * - forex.serialization{type}: 응답 JSON 직렬화 시간
+ * - forex.fallback{type}: AI 기본 메시지 / fallback 리포트 사용 횟수
+ * - forex.ai.prompt.tokens{stage}: AI 프롬프트 추정 토큰 수
+ * - forex.cache.*{cache}: 캐시 조회 결과별 횟수, 적중률, 크기, 진행 중인 조회 수
+ *
+ * 시간 지표의 히스토그램(p99 등)은 management.metrics.distribution 설정으로 켠다.
+ */
+@Component
+public class ForexMetrics {
+
+    public static final String KOREAEXIM = "koreaexim";
+    public static final String NAVER = "naver";
+    public static final String BACKUP = "backup";
+    public static final String UPSTAGE = "upstage";
+
+    public static final String STAGE_RATE_RESOLUTION = "rate_resolution";
+    public static final String STAGE_DETERMINISTIC_ANALYSIS = "deterministic_analysis";
+    public static final String STAGE_AI_EVALUATION = "ai_evaluation";
+    public static final String STAGE_AI_MONITORING = "ai_monitoring";
+    public static final String STAGE_AI_INSIGHTS = "ai_insights";
+    public static final String STAGE_AI_FINAL_REPORT = "ai_final_report";
+    public static final String STAGE_FINAL_REPORT = "final_report";
+
+    public static final String FALLBACK_EVALUATION = "evaluation";
+    public static final String FALLBACK_STRATEGY = "strategy";
+    public static final String FALLBACK_FINAL_REPORT = "final_report";
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicInteger> upstreamInFlight = new ConcurrentHashMap<>();
+
+    public ForexMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 외부 호출 시간 측정 (구독부터 완료/실패/취소까지)
+     */
+    public <T> Mono<T> timeUpstream(String upstream, Mono<T> call) {
+        return Mono.defer(() -> {
+            AtomicInteger inFlight = inFlight(upstream);
+            inFlight.incrementAndGet();
+            Timer.Sample sample = Timer.start(registry);
+            return call
+                    .doOnSuccess(value -> sample.stop(upstreamTimer(upstream, "success")))
+                    .doOnError(e -> sample.stop(upstreamTimer(upstream, outcome(e))))
+                    .doOnCancel(() -> sample.stop(upstreamTimer(upstream, "cancelled")))
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * 스트리밍 외부 호출 시간 측정 (마지막 조각까지)
+     */
+    public <T> Flux<T> timeUpstream(String upstream, Flux<T> call) {
+        return Flux.defer(() -> {
+            AtomicInteger inFlight = inFlight(upstream);
+            inFlight.incrementAndGet();
+            Timer.Sample sample = Timer.start(registry);
+            return call
+                    .doOnComplete(() -> sample.stop(upstreamTimer(upstream, "success")))
+                    .doOnError(e -> sample.stop(upstreamTimer(upstream, outcome(e))))
+                    .doOnCancel(() -> sample.stop(upstreamTimer(upstream, "cancelled")))
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * 파이프라인 단계 시간 측정
+     */
+    public <T> T timeStage(String stage, Supplier<T> work) {
+        long startedAt = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            recordStage(stage, System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * 비동기 파이프라인 단계 시간 측정 (구독부터 완료/실패/취소까지)
+     */
+    public <T> Mono<T> timeStage(String stage, Mono<T> work) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return work.doFinally(signal -> recordStage(stage, System.nanoTime() - startedAt));
+        });
+    }
+
+    public void recordStage(String stage, long elapsedNanos) {
+        Timer.builder("forex.stage")
+                .tag("stage", stage)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordStage(String stage, Duration elapsed) {
+        recordStage(stage, elapsed.toNanos());
+    }
+
+    public void recordSerialization(Class<?> type, long elapsedNanos) {
+        Timer.builder("forex.serialization")
+                .tag("type", type != null ? type.getSimpleName() : "unknown")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * AI 기본 메시지 / fallback 리포트 사용
+     */
+    public void fallback(String type) {
+        Counter.builder("forex.fallback")
+                .tag("type", type)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * AI 프롬프트 추정 토큰 수
+     */
+    public void recordPromptTokens(String stage, int tokens) {
+        DistributionSummary.builder("forex.ai.prompt.tokens")
+                .tag("stage", stage)
+                .baseUnit("tokens")
+                .register(registry)
+                .record(tokens);
+    }
+
+    /**
+     * single-flight 캐시 지표 등록
+     */
+    public void monitorCache(String name, SingleFlightCache<?, ?> cache) {
+        cacheRequests(name, "hit", cache, c -> c.stats().freshHits());
+        cacheRequests(name, "stale", cache, c -> c.stats().staleHits());
+        cacheRequests(name, "miss", cache, c -> c.stats().misses());
+        cacheRequests(name, "joined", cache, c -> c.stats().joined());
+        Gauge.builder("forex.cache.hit_ratio", cache, c -> c.stats().hitRatio()).tag("cache", name).register(registry);
+        Gauge.builder("forex.cache.size", cache, SingleFlightCache::size).tag("cache", name).register(registry);
+        Gauge.builder("forex.cache.in_flight", cache, SingleFlightCache::inFlightCount).tag("cache", name).register(registry);
+    }
+
+    /**
+     * LLM 응답 캐시 지표 등록
+     */
+    public void monitorCache(String name, LlmResponseCache cache) {
+        cacheRequests(name, "hit", cache, c -> c.stats().hits());
+        cacheRequests(name, "miss", cache, c -> c.stats().misses());
+        cacheRequests(name, "joined", cache, c -> c.stats().joined());
+        FunctionCounter.builder("forex.cache.evictions", cache, c -> c.stats().evictions())
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("forex.cache.hit_ratio", cache, c -> c.stats().hitRatio()).tag("cache", name).register(registry);
+        Gauge.builder("forex.cache.size", cache, LlmResponseCache::size).tag("cache", name).register(registry);
+        Gauge.builder("forex.cache.in_flight", cache, LlmResponseCache::inFlightCount).tag("cache", name).register(registry);
+    }
+
+    private <C> void cacheRequests(String name, String result, C cache, ToDoubleFunction<C> count) {
+        FunctionCounter.builder("forex.cache.requests", cache, count)
+                .tag("cache", name)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Timer upstreamTimer(String upstream, String outcome) {
+        return Timer.builder("forex.upstream")
+                .tag("upstream", upstream)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private AtomicInteger inFlight(String upstream) {
+        return upstreamInFlight.computeIfAbsent(upstream, name -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("forex.upstream.in_flight", counter, AtomicInteger::get)
+                    .tag("upstream", name)
+                    .register(registry);
+            return counter;
+        });
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof CircuitBreaker.OpenException) {
+            return "circuit_open";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,20 @@
+package com.buulgyeong.forexanalyzer.repository;
+
+import com.buulgyeong.forexanalyzer.entity.ExchangeRateHistory;
+
+import java.util.List;
+
+/**
+ * 환율 이력 대량 저장
+ */
+public interface ExchangeRateHistoryBulkRepository {
+
+    /**
+     * (currency_code, rate_date) 기준 upsert (없으면 추가, 환율이 다르면 갱신)
+     *
+     * 같은 기간을 다시 수집해도 중복 행이 생기지 않는다.
+     *
+     * @return 추가 또는 갱신된 행 수
+     */
+    int upsertAll(List<ExchangeRateHistory> histories);
+}
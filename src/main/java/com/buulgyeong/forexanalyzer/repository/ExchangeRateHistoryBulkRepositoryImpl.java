@@ -0,0 +1,63 @@
+package com.buulgyeong.forexanalyzer.repository;
+
+import com.buulgyeong.forexanalyzer.entity.ExchangeRateHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * 환율 이력 대량 저장 (JDBC batch MERGE)
+ *
+ * 행마다 조회 후 저장하지 않고, MERGE 문 하나를 batchSize건씩 묶어 실행한다.
+ * 새 행의 id는 엔티티와 같은 시퀀스에서 받는다.
+ */
+public class ExchangeRateHistoryBulkRepositoryImpl implements ExchangeRateHistoryBulkRepository {
+
+    private static final String UPSERT_SQL = """
+            MERGE INTO exchange_rate_history t
+            USING (VALUES (CAST(? AS VARCHAR(3)), CAST(? AS DATE), CAST(? AS NUMERIC(14, 4))))
+                AS s (currency_code, rate_date, rate)
+            ON t.currency_code = s.currency_code AND t.rate_date = s.rate_date
+            WHEN MATCHED AND t.rate <> s.rate THEN
+                UPDATE SET rate = s.rate
+            WHEN NOT MATCHED THEN
+                INSERT (id, currency_code, rate_date, rate, created_at)
+                VALUES (NEXT VALUE FOR exchange_rate_history_seq, s.currency_code, s.rate_date, s.rate, CURRENT_TIMESTAMP)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ExchangeRateHistoryBulkRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${forex.history.upsert-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(List<ExchangeRateHistory> histories) {
+        if (histories.isEmpty()) {
+            return 0;
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPSERT_SQL, histories, batchSize, (ps, h) -> {
+            ps.setString(1, h.getCurrencyCode());
+            ps.setDate(2, Date.valueOf(h.getRateDate()));
+            ps.setBigDecimal(3, h.getRate());
+        });
+
+        int affected = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // 드라이버가 건수를 알려주지 않으면(SUCCESS_NO_INFO) 1건으로 본다
+                affected += count >= 0 ? count : 1;
+            }
+        }
+        return affected;
+    }
+}
@@ -11,7 +11,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ExchangeRateHistoryRepository extends JpaRepository<ExchangeRateHistory, Long> {
+public interface ExchangeRateHistoryRepository extends JpaRepository<ExchangeRateHistory, Long>, ExchangeRateHistoryBulkRepository {
     
     Optional<ExchangeRateHistory> findByRateDateAndCurrencyCode(LocalDate rateDate, String currencyCode);
     
@@ -21,5 +21,9 @@ public interface ExchangeRateHistoryRepository extends JpaRepository<ExchangeRat
     @Query("SELECT e FROM ExchangeRateHistory e WHERE e.currencyCode = :currencyCode ORDER BY e.rateDate DESC LIMIT 1")
     Optional<ExchangeRateHistory> findLatestByCurrencyCode(@Param("currencyCode") String currencyCode);
     
+    List<ExchangeRateHistory> findByCurrencyCodeOrderByRateDateAsc(String currencyCode);
+    
+    List<ExchangeRateHistory> findAllByOrderByRateDateAsc();
+    
     boolean existsByRateDateAndCurrencyCode(LocalDate rateDate, String currencyCode);
 }
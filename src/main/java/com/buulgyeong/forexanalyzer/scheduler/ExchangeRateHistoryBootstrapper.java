@@ -0,0 +1,106 @@
+package com.buulgyeong.forexanalyzer.scheduler;
+
+import com.buulgyeong.forexanalyzer.cache.RateTimeSeries;
+import com.buulgyeong.forexanalyzer.cache.RateTimeSeriesStore;
+import com.buulgyeong.forexanalyzer.dto.ServiceStatusResponse;
+import com.buulgyeong.forexanalyzer.service.ExchangeRateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executor;
+
+/**
+ * 환율 이력 비동기 적재
+ *
+ * 컨텍스트 기동 경로에서 외부 API를 호출하지 않도록, 기동이 끝난 뒤 별도 스레드에서
+ * DB 이력 적재 → 누락 구간 수집 → USD 스냅샷 재구성 순으로 진행한다.
+ * 적재가 끝날 때까지 readiness는 REFUSING_TRAFFIC으로 유지된다.
+ */
+@Component
+@Slf4j
+public class ExchangeRateHistoryBootstrapper {
+
+    private final ExchangeRateService exchangeRateService;
+    private final RateTimeSeriesStore rateTimeSeriesStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor executor;
+
+    private volatile boolean ready;
+    private volatile Long startupMs;
+    private volatile Long warmupMs;
+    private volatile Long timeToReadyMs;
+
+    public ExchangeRateHistoryBootstrapper(
+            ExchangeRateService exchangeRateService,
+            RateTimeSeriesStore rateTimeSeriesStore,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.exchangeRateService = exchangeRateService;
+        this.rateTimeSeriesStore = rateTimeSeriesStore;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        startupMs = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : null;
+        log.info("애플리케이션 기동 완료: {}ms, 환율 이력 적재 시작", startupMs);
+        executor.execute(this::bootstrap);
+    }
+
+    /**
+     * 스프링 부트는 ApplicationReadyEvent 직후 ACCEPTING_TRAFFIC을 게시하므로, 적재 전이면 다시 REFUSING_TRAFFIC으로 돌린다.
+     */
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !ready) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    private void bootstrap() {
+        long startedAt = System.nanoTime();
+        try {
+            exchangeRateService.loadStoredHistory();
+        } catch (Exception e) {
+            log.error("저장된 환율 이력 적재 실패: {}", e.getMessage(), e);
+        }
+        try {
+            exchangeRateService.fetchMissingHistory();
+        } catch (Exception e) {
+            // 외부 API 장애여도 저장된 이력으로 서비스하고, 누락분은 수집 스케줄러가 채운다
+            log.warn("누락 환율 이력 수집 실패 - 저장된 이력으로 시작: {}", e.getMessage());
+        }
+        exchangeRateService.refreshSnapshot();
+
+        warmupMs = (System.nanoTime() - startedAt) / 1_000_000;
+        timeToReadyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        ready = true;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        log.info("환율 이력 적재 완료: {}ms (JVM 시작부터 {}ms)", warmupMs, timeToReadyMs);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public ServiceStatusResponse getStatus() {
+        RateTimeSeries usd = rateTimeSeriesStore.get("USD");
+        return ServiceStatusResponse.builder()
+                .ready(ready)
+                .startupMs(startupMs)
+                .warmupMs(warmupMs)
+                .timeToReadyMs(timeToReadyMs)
+                .historyDays(usd.size())
+                .lastRateDate(usd.lastDate())
+                .currencies(rateTimeSeriesStore.currencies())
+                .build();
+    }
+}
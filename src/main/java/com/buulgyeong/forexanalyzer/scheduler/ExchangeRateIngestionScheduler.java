@@ -0,0 +1,58 @@
+package com.buulgyeong.forexanalyzer.scheduler;
+
+import com.buulgyeong.forexanalyzer.dto.HistoricalRate;
+import com.buulgyeong.forexanalyzer.dto.RateQuote;
+import com.buulgyeong.forexanalyzer.external.ExchangeRateApiClient;
+import com.buulgyeong.forexanalyzer.service.ExchangeRateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 환율 수집 스케줄러
+ *
+ * 외부 API 호출은 모두 여기서만 일어나고, 요청 스레드는 ExchangeRateService 스냅샷만 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRateIngestionScheduler {
+
+    private final ExchangeRateApiClient exchangeRateApiClient;
+    private final ExchangeRateService exchangeRateService;
+
+    /**
+     * 실시간 환율 갱신 (네이버, 지연/실패 시 백업 API)
+     */
+    @Scheduled(initialDelayString = "${forex.ingestion.spot-initial-delay-ms:0}",
+               fixedDelayString = "${forex.ingestion.spot-interval-ms:60000}")
+    public void refreshSpotRate() {
+        Optional<RateQuote> quote = exchangeRateApiClient.fetchSpotQuote();
+        if (quote.isEmpty()) {
+            log.warn("실시간 환율 갱신 실패 - 기존 스냅샷 유지");
+            return;
+        }
+        exchangeRateService.refreshSnapshot(quote.get());
+    }
+
+    /**
+     * 일별 환율 이력 갱신 (한국수출입은행, 전체 통화)
+     */
+    @Scheduled(initialDelayString = "${forex.ingestion.history-initial-delay-ms:3600000}",
+               fixedDelayString = "${forex.ingestion.history-interval-ms:3600000}")
+    public void refreshHistory() {
+        try {
+            // 한국수출입은행 응답 하나에 전체 통화가 있으므로 모든 통화를 함께 저장
+            Map<String, List<HistoricalRate>> last30Days = exchangeRateApiClient.fetchLastDaysAllCurrencies(30);
+            exchangeRateService.saveHistory(last30Days);
+            exchangeRateService.refreshSnapshot();
+        } catch (Exception e) {
+            log.warn("환율 이력 갱신 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.BatchAnalysisItem;
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 다건(포트폴리오) 손익 분석
+ *
+ * 환율 스냅샷은 원자재 통화(바스켓)별로 배치당 한 번만 조회하고, 입력을 chunk-size 단위로 읽어
+ * 전용 ForkJoinPool에서 병렬 계산한 뒤 입력 순서대로 NDJSON 한 줄씩 내보낸다.
+ * includeAi=true이면 AI 응답을 기다리는 동안 워커를 점유하지 않도록 ForkJoinPool 대신
+ * non-blocking 분석(analyzeAsync)을 chunk 단위로 조합한다.
+ * 메모리에는 한 chunk만 올라가므로 입력 건수와 무관하게 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchAnalysisService {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ProfitLossAnalysisService profitLossAnalysisService;
+    private final ExchangeRateService exchangeRateService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Qualifier("batchAnalysisPool")
+    private final ForkJoinPool batchAnalysisPool;
+
+    @Value("${forex.batch.chunk-size:1024}")
+    private int chunkSize;
+
+    @Value("${forex.batch.ai-chunk-size:32}")
+    private int aiChunkSize;
+
+    /**
+     * 입력을 순서대로 분석해 결과를 NDJSON으로 기록
+     *
+     * @param usdRateInfo 원자재 통화가 USD인 항목에 사용할 환율 정보
+     * @param includeAi true면 항목마다 AI 평가/전략을 요청 (실패/시간 초과 시 기본 메시지)
+     * @return 처리한 항목 수 (입력 JSON 오류가 있으면 오류 직전까지)
+     */
+    public long analyze(Iterator<CompanyInputRequest> inputs,
+                        ExchangeRateResponse usdRateInfo,
+                        boolean includeAi,
+                        OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BatchAnalysisItem.class);
+        Map<String, ExchangeRateResponse> rates = new ConcurrentHashMap<>();
+        rates.put(rateKey("USD", null), usdRateInfo);
+        int size = includeAi ? aiChunkSize : chunkSize;
+        List<CompanyInputRequest> chunk = new ArrayList<>(size);
+        long index = 0;
+        BatchAnalysisItem readError = null;
+
+        while (true) {
+            CompanyInputRequest input;
+            try {
+                if (!inputs.hasNext()) {
+                    break;
+                }
+                input = inputs.next();
+            } catch (RuntimeException e) {
+                // 입력 JSON 오류: 이미 읽은 항목까지 보내고, 읽지 못한 항목의 index로 오류 한 줄을 남긴 뒤 중단
+                long failedIndex = index + chunk.size();
+                log.warn("다건 손익 분석 중단 (index={}): {}", failedIndex, e.getMessage());
+                readError = BatchAnalysisItem.builder()
+                        .index(failedIndex)
+                        .error("입력을 읽을 수 없습니다: " + e.getMessage())
+                        .build();
+                break;
+            }
+
+            chunk.add(input);
+            if (chunk.size() == size) {
+                writeChunk(chunk, index, rates, includeAi, writer, out);
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, index, rates, includeAi, writer, out);
+            index += chunk.size();
+        }
+        if (readError != null) {
+            writeLines(List.of(serialize(writer, readError)), out);
+        }
+        return index;
+    }
+
+    private void writeChunk(List<CompanyInputRequest> chunk,
+                            long firstIndex,
+                            Map<String, ExchangeRateResponse> rates,
+                            boolean includeAi,
+                            ObjectWriter writer,
+                            OutputStream out) throws IOException {
+        List<byte[]> lines;
+        if (includeAi) {
+            // AI 항목은 응답을 기다리는 동안 스레드를 점유하지 않도록 조합하고, 입력 순서대로 모은다
+            lines = Flux.range(0, chunk.size())
+                    .flatMapSequential(i -> analyzeItemAsync(firstIndex + i, chunk.get(i), rates), chunk.size())
+                    .map(item -> serialize(writer, item))
+                    .collectList()
+                    .block();
+        } else {
+            // 병렬 스트림을 전용 풀 안에서 실행하면 공용 ForkJoinPool 대신 해당 풀의 워커를 사용
+            lines = batchAnalysisPool.submit(() -> IntStream.range(0, chunk.size())
+                            .parallel()
+                            .mapToObj(i -> serialize(writer, analyzeItem(firstIndex + i, chunk.get(i), rates)))
+                            .toList())
+                    .join();
+        }
+        writeLines(lines, out);
+    }
+
+    private static void writeLines(List<byte[]> lines, OutputStream out) throws IOException {
+        for (byte[] line : lines) {
+            out.write(line);
+            out.write(NEWLINE);
+        }
+        out.flush();
+    }
+
+    /**
+     * AI 없이 계산만으로 항목 분석
+     */
+    private BatchAnalysisItem analyzeItem(long index,
+                                          CompanyInputRequest input,
+                                          Map<String, ExchangeRateResponse> rates) {
+        String violations = validate(input);
+        if (violations != null) {
+            return BatchAnalysisItem.builder().index(index).error(violations).build();
+        }
+
+        try {
+            ProfitLossAnalysisResponse analysis =
+                    profitLossAnalysisService.analyzeDeterministic(input, rateInfo(input, rates));
+            return BatchAnalysisItem.builder().index(index).analysis(analysis).build();
+        } catch (RuntimeException e) {
+            return failed(index, e);
+        }
+    }
+
+    /**
+     * AI 평가/전략을 포함한 항목 분석 (non-blocking)
+     */
+    private Mono<BatchAnalysisItem> analyzeItemAsync(long index,
+                                                     CompanyInputRequest input,
+                                                     Map<String, ExchangeRateResponse> rates) {
+        String violations = validate(input);
+        if (violations != null) {
+            return Mono.just(BatchAnalysisItem.builder().index(index).error(violations).build());
+        }
+
+        return Mono.defer(() -> profitLossAnalysisService.analyzeAsync(input, rateInfo(input, rates)))
+                .map(analysis -> BatchAnalysisItem.builder().index(index).analysis(analysis).build())
+                .onErrorResume(RuntimeException.class, e -> Mono.just(failed(index, e)));
+    }
+
+    private ExchangeRateResponse rateInfo(CompanyInputRequest input, Map<String, ExchangeRateResponse> rates) {
+        return rates.computeIfAbsent(
+                rateKey(input.getMaterialCurrency(), input.getCurrencyBasket()),
+                key -> exchangeRateService.getExchangeRateInfo(input));
+    }
+
+    private static BatchAnalysisItem failed(long index, RuntimeException e) {
+        log.debug("배치 항목 분석 실패 (index={}): {}", index, e.toString());
+        return BatchAnalysisItem.builder().index(index).error(e.getMessage()).build();
+    }
+
+    private static String rateKey(String materialCurrency, Map<String, BigDecimal> basket) {
+        String currency = materialCurrency != null ? materialCurrency : "USD";
+        return basket == null || basket.isEmpty() ? currency : currency + new TreeMap<>(basket);
+    }
+
+    private String validate(CompanyInputRequest input) {
+        if (input == null) {
+            return "입력이 비어 있습니다";
+        }
+        Set<ConstraintViolation<CompanyInputRequest>> violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static byte[] serialize(ObjectWriter writer, BatchAnalysisItem item) {
+        try {
+            return writer.writeValueAsBytes(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 원가/마진 계산용 정수(고정 소수점) 커널
+ *
+ * 입력값별 계수를 한 번만 정수로 바꿔 두고, 환율 하나당 원가/마진/마진율을 long 연산만으로 계산한다.
+ * BigDecimal은 응답을 만들 때만 생성한다.
+ *
+ * 단위: 금액은 전(1/100원), 환율/원자재 단가/원자재 비중은 1/10000 단위, 마진율은 1/10000 (= 0.01%p)
+ *
+ * 반올림 규칙 (ProfitLossAnalysisService의 BigDecimal 계산과 동일):
+ * - 원자재 비중 = 비중(%) / 100, 소수 4자리 HALF_UP
+ * - 총 원가 = 원자재 단가 * 환율 / 원자재 비중 (소수 2자리 HALF_UP) + 기타 비용
+ * - 마진율 = 마진 / 납품 단가 (소수 4자리 HALF_UP) * 100
+ * - 원 단위 표시값은 HALF_UP (0에서 먼 쪽)
+ *
+ * 정수로 정확히 표현할 수 없는 입력(소수 자릿수 초과, long 범위 초과)은 지원하지 않으며,
+ * 이때 호출 측은 기존 BigDecimal 계산을 사용해야 한다.
+ */
+final class CostKernel {
+
+    /** 커널로 계산할 수 없는 환율 또는 결과 */
+    static final long UNSUPPORTED = Long.MIN_VALUE;
+
+    private static final int MONEY_SCALE = 2;  // 전
+    private static final int UNIT_SCALE = 4;   // 1/10000
+
+    private final long materialCostUsd4;  // 원자재 단가(USD) * 10^4
+    private final long materialRatioDivisor; // 원자재 비중(소수 4자리) * 10^4 * 100
+    private final long otherCostsCents;
+    private final long sellingPriceCents;
+
+    private CostKernel(long materialCostUsd4, long materialRatio4, long otherCostsCents, long sellingPriceCents) {
+        this.materialCostUsd4 = materialCostUsd4;
+        this.materialRatioDivisor = materialRatio4 * 100;
+        this.otherCostsCents = otherCostsCents;
+        this.sellingPriceCents = sellingPriceCents;
+    }
+
+    /**
+     * 입력값으로 커널 생성 (정수로 표현할 수 없는 입력이면 null)
+     */
+    static CostKernel compile(CompanyInputRequest input) {
+        return compile(input.getMaterialCostUsd(), input.getMaterialRatio(),
+                input.getOtherCostsKrw(), input.getSellingPriceKrw());
+    }
+
+    static CostKernel compile(BigDecimal materialCostUsd,
+                              BigDecimal materialRatio,
+                              BigDecimal otherCostsKrw,
+                              BigDecimal sellingPriceKrw) {
+        if (materialCostUsd == null || materialRatio == null || otherCostsKrw == null || sellingPriceKrw == null) {
+            return null;
+        }
+
+        long usd4 = toFixed(materialCostUsd, UNIT_SCALE);
+        long otherCents = toFixed(otherCostsKrw, MONEY_SCALE);
+        long sellingCents = toFixed(sellingPriceKrw, MONEY_SCALE);
+        if (usd4 == UNSUPPORTED || otherCents == UNSUPPORTED || sellingCents == UNSUPPORTED || sellingCents <= 0) {
+            return null;
+        }
+
+        // 비중(%) / 100 을 소수 4자리로 반올림한 값 * 10^4 = 비중(%) * 100 을 정수로 반올림한 값
+        long ratio4;
+        try {
+            ratio4 = materialRatio.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        if (ratio4 <= 0 || ratio4 > Long.MAX_VALUE / 100) {
+            return null;
+        }
+
+        return new CostKernel(usd4, ratio4, otherCents, sellingCents);
+    }
+
+    /**
+     * 환율을 1/10000 단위 정수로 변환 (표현할 수 없으면 UNSUPPORTED)
+     */
+    static long toRate4(BigDecimal exchangeRate) {
+        return toFixed(exchangeRate, UNIT_SCALE);
+    }
+
+    /**
+     * 총 원가 (전)
+     */
+    long costCents(long rate4) {
+        if (rate4 == UNSUPPORTED) {
+            return UNSUPPORTED;
+        }
+        try {
+            long product = Math.multiplyExact(materialCostUsd4, rate4);  // 10^-8 원
+            return Math.addExact(divideHalfUp(product, materialRatioDivisor), otherCostsCents);
+        } catch (ArithmeticException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * 마진 (전)
+     */
+    long marginCents(long costCents) {
+        if (costCents == UNSUPPORTED) {
+            return UNSUPPORTED;
+        }
+        try {
+            return Math.subtractExact(sellingPriceCents, costCents);
+        } catch (ArithmeticException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * 마진율 (1/10000, 즉 0.01%p 단위)
+     */
+    long marginRateBasis(long marginCents) {
+        if (marginCents == UNSUPPORTED) {
+            return UNSUPPORTED;
+        }
+        try {
+            return divideHalfUp(Math.multiplyExact(marginCents, 10_000L), sellingPriceCents);
+        } catch (ArithmeticException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * 전 단위 금액을 소수 2자리 BigDecimal로 (기존 calculateTotalCost 결과와 같은 값/scale)
+     */
+    static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, MONEY_SCALE);
+    }
+
+    /**
+     * 전 단위 금액을 원 단위로 반올림 (HALF_UP)
+     */
+    static BigDecimal won(long cents) {
+        return BigDecimal.valueOf(divideHalfUp(cents, 100));
+    }
+
+    /**
+     * 마진율을 % 소수 2자리 BigDecimal로
+     */
+    static BigDecimal percent(long basis) {
+        return BigDecimal.valueOf(basis, 2);
+    }
+
+    /**
+     * 정수 나눗셈 HALF_UP (0에서 먼 쪽), divisor > 0
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static long toFixed(BigDecimal value, int scale) {
+        if (value.scale() > scale) {
+            return UNSUPPORTED;
+        }
+        try {
+            long fixed = value.movePointRight(scale).longValueExact();
+            return fixed == UNSUPPORTED ? UNSUPPORTED : fixed;
+        } catch (ArithmeticException e) {
+            return UNSUPPORTED;
+        }
+    }
+}
@@ -1,134 +1,376 @@
 package com.buulgyeong.forexanalyzer.service;
 
+import com.buulgyeong.forexanalyzer.cache.RateTimeSeries;
+import com.buulgyeong.forexanalyzer.cache.RateTimeSeriesStore;
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
 import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
 import com.buulgyeong.forexanalyzer.dto.HistoricalRate;
+import com.buulgyeong.forexanalyzer.dto.RateQuote;
+import com.buulgyeong.forexanalyzer.dto.RateSource;
 import com.buulgyeong.forexanalyzer.entity.ExchangeRateHistory;
 import com.buulgyeong.forexanalyzer.external.ExchangeRateApiClient;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
 import com.buulgyeong.forexanalyzer.repository.ExchangeRateHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class ExchangeRateService {
-    
+
     private final ExchangeRateHistoryRepository exchangeRateHistoryRepository;
     private final ExchangeRateApiClient exchangeRateApiClient;
-    
+    private final RateTimeSeriesStore rateTimeSeriesStore;
+    private final ForexMetrics metrics;
+
     private static final String USD = "USD";
+    private static final String BASKET = "BASKET";
 
+    // 요청 스레드가 읽는 최신 USD 스냅샷 (수집 스케줄러가 교체)
+    private final AtomicReference<ExchangeRateSnapshot> snapshot = new AtomicReference<>();
 
+    // USD 외 통화 스냅샷 (처음 요청될 때 시계열로 구성, 이력 갱신 시 비움)
+    private final Map<String, ExchangeRateSnapshot> currencySnapshots = new ConcurrentHashMap<>();
 
-    @PostConstruct
-    @Transactional
-    public void initHistoricalData() {
-        if (exchangeRateHistoryRepository.count() == 0) {
-            log.info("환율 데이터 초기화 시작");
-            List<HistoricalRate> last30Days = exchangeRateApiClient.fetchLast30Days();
-
-            List<ExchangeRateHistory> entities = last30Days.stream()
-                    .map(h -> ExchangeRateHistory.builder()
-                            .rateDate(h.getDate())
-                            .rate(h.getRate())
-                            .currencyCode(USD)
-                            .build())
-                    .collect(Collectors.toList());
-
-            exchangeRateHistoryRepository.saveAll(entities);
-            log.info("지난 30일치 환율 DB 저장 완료");
+    // DB가 비어 있을 때 처음 수집하는 기간(일)
+    @Value("${forex.history.initial-days:30}")
+    private int initialHistoryDays;
+
+    /**
+     * DB에 저장된 이력을 메모리 시계열로 적재
+     *
+     * 이후 기간 조회는 DB를 거치지 않는다. 적재 전에 만들어진 통화 스냅샷은 비운다.
+     */
+    public void loadStoredHistory() {
+        rateTimeSeriesStore.loadAll(exchangeRateHistoryRepository.findAllByOrderByRateDateAsc());
+        currencySnapshots.clear();
+        log.info("저장된 환율 이력 적재 완료: {}일, {}", rateTimeSeriesStore.get(USD).size(), rateTimeSeriesStore.currencies());
+    }
+
+    /**
+     * 마지막 관측일 다음 날부터 오늘까지의 차분만 수집해 저장 (DB가 비어 있으면 최근 initialHistoryDays일)
+     *
+     * DB에는 실제로 고시된 날짜만 있으므로 마지막 저장일이 곧 마지막 관측일이다.
+     * 휴일이나 실패로 비어 있는 날짜는 다음 수집 때 다시 조회된다.
+     */
+    public void fetchMissingHistory() {
+        LocalDate today = LocalDate.now();
+        LocalDate lastObserved = rateTimeSeriesStore.get(USD).lastDate();
+        LocalDate from = lastObserved != null ? lastObserved.plusDays(1) : today.minusDays(initialHistoryDays - 1L);
+
+        if (from.isAfter(today)) {
+            return;
         }
+        log.info("환율 이력 차분 수집: {} ~ {} (마지막 관측일 {})", from, today, lastObserved);
+        saveHistory(exchangeRateApiClient.fetchPublishedRangeAllCurrenciesAsync(from, today).block());
     }
+
     /**
      * 실시간 환율 정보 조회
+     *
+     * 수집 스케줄러가 게시한 스냅샷을 그대로 반환하며 외부 API를 호출하지 않는다.
+     * 첫 수집 전에는 DB에 저장된 이력만으로 스냅샷을 구성한다.
      */
     public ExchangeRateResponse getExchangeRateInfo() {
+        ExchangeRateSnapshot current = snapshot.get();
+        if (current == null) {
+            snapshot.compareAndSet(null, buildSnapshot(USD, getCurrentRate(), storedSource(USD)));
+            current = snapshot.get();
+        }
+        return current.getResponse();
+    }
+
+    /**
+     * 통화별 환율 정보 조회 (USD는 실시간, 그 외 통화는 한국수출입은행 고시 환율 기준)
+     *
+     * @throws IllegalArgumentException 저장된 이력이 없는 통화
+     */
+    public ExchangeRateResponse getExchangeRateInfo(String currencyCode) {
+        if (currencyCode == null || USD.equals(currencyCode)) {
+            return getExchangeRateInfo();
+        }
+        return currencySnapshots.computeIfAbsent(currencyCode,
+                code -> buildSnapshot(code, requireLastRate(code), RateSource.KOREAEXIM)).getResponse();
+    }
+
+    /**
+     * 입력값의 원자재 통화 / 통화 바스켓 기준 환율 정보
+     *
+     * 바스켓이 있으면 각 통화 비중만큼 나눠 결제하는 합성 환율(원/원자재 통화 1단위)을 사용한다.
+     */
+    public ExchangeRateResponse getExchangeRateInfo(CompanyInputRequest input) {
+        return metrics.timeStage(ForexMetrics.STAGE_RATE_RESOLUTION, () -> {
+            Map<String, BigDecimal> basket = input.getCurrencyBasket();
+            if (basket == null || basket.isEmpty()) {
+                return getExchangeRateInfo(quoteCurrency(input));
+            }
+            return buildBasketSnapshot(quoteCurrency(input), basket).getResponse();
+        });
+    }
+
+    /**
+     * 이력이 있는 통화 목록
+     */
+    public Set<String> getAvailableCurrencies() {
+        return rateTimeSeriesStore.currencies();
+    }
+
+    /**
+     * 새 현재 환율로 USD 스냅샷 재구성 후 게시
+     */
+    public void refreshSnapshot(RateQuote quote) {
+        snapshot.set(buildSnapshot(USD, quote.getRate(), quote.getSource()));
+    }
+
+    /**
+     * 현재 환율과 출처는 그대로 두고 USD 스냅샷 재구성 (이력 변경 후)
+     *
+     * 읽기와 교체를 한 번에 처리해, 그 사이 실시간 환율 갱신(refreshSnapshot(RateQuote))이 게시한 스냅샷을
+     * 이전 환율로 덮어쓰지 않는다 (경합 시 최신 스냅샷 기준으로 다시 만든다).
+     */
+    public void refreshSnapshot() {
+        snapshot.updateAndGet(current -> current != null
+                ? buildSnapshot(USD, current.getResponse().getCurrentRate(), current.getResponse().getRateSource())
+                : buildSnapshot(USD, getCurrentRate(), storedSource(USD)));
+    }
+
+    /**
+     * 최근 게시된 스냅샷의 현재 환율 (없으면 DB 최신값)
+     */
+    public BigDecimal getSnapshotRate() {
+        ExchangeRateSnapshot current = snapshot.get();
+        return current != null ? current.getResponse().getCurrentRate() : getCurrentRate();
+    }
+
+    /**
+     * 전체 통화 일별 환율 이력 저장 (없는 날짜는 추가, 값이 바뀐 날짜는 갱신)
+     *
+     * 실제로 고시된 날짜만 넘겨야 한다. 휴일 보정은 메모리 시계열이 조회할 때 한다 (RateTimeSeries.rateOnOrBefore).
+     *
+     * 메모리 시계열과 값이 같은 날짜는 건너뛰고, 나머지는 모든 통화를 모아 (통화, 날짜) 기준 batch upsert로 저장한다.
+     * 겹치는 기간을 다시 수집해도 중복 행이 생기지 않는다.
+     * 커밋 후 시계열에 반영하고 USD 외 통화 스냅샷을 비운다.
+     */
+    @Transactional
+    public void saveHistory(Map<String, List<HistoricalRate>> ratesByCurrency) {
+        List<ExchangeRateHistory> changed = new ArrayList<>();
+
+        ratesByCurrency.forEach((currencyCode, rates) -> {
+            RateTimeSeries series = rateTimeSeriesStore.get(currencyCode);
+
+            for (HistoricalRate h : rates) {
+                BigDecimal known = series.rateOn(h.getDate());
+                if (known != null && known.compareTo(h.getRate()) == 0) {
+                    continue;
+                }
+                changed.add(ExchangeRateHistory.builder()
+                        .rateDate(h.getDate())
+                        .rate(h.getRate())
+                        .currencyCode(currencyCode)
+                        .build());
+            }
+        });
+
+        long startedAt = System.nanoTime();
+        int affected = exchangeRateHistoryRepository.upsertAll(changed);
+        log.info("환율 이력 갱신 완료: {}개 통화, {}건 중 {}건 반영, {}ms",
+                ratesByCurrency.size(), changed.size(), affected, (System.nanoTime() - startedAt) / 1_000_000);
+
+        Map<String, Map<LocalDate, BigDecimal>> updates = new HashMap<>();
+        for (ExchangeRateHistory h : changed) {
+            updates.computeIfAbsent(h.getCurrencyCode(), code -> new HashMap<>()).put(h.getRateDate(), h.getRate());
+        }
+        afterCommit(() -> {
+            updates.forEach(rateTimeSeriesStore::merge);
+            currencySnapshots.clear();
+        });
+    }
+
+    /**
+     * 트랜잭션이 있으면 커밋 후, 없으면 즉시 실행
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 통화 시계열 + 현재 환율로 스냅샷 생성
+     */
+    private ExchangeRateSnapshot buildSnapshot(String currencyCode, BigDecimal currentRate, RateSource rateSource) {
         LocalDate today = LocalDate.now();
+        RateTimeSeries series = rateTimeSeriesStore.get(currencyCode);
 
-        // 현재 환율 → NAVER 스크래핑
-        BigDecimal currentRate = exchangeRateApiClient.fetchCurrentExchangeRateFromNaver();
+        // 30일 환율 추이 (메모리 시계열)
+        return buildSnapshot(currencyCode, currentRate, rateSource,
+                series.slice(today.minusDays(29), today), series::rateOnOrBefore);
+    }
 
-        // 과거 30일 환율 → fetchLast30Days 사용
-        List<HistoricalRate> last30Days = exchangeRateApiClient.fetchLast30Days();
+    /**
+     * 통화 바스켓 합성 환율 스냅샷 생성
+     *
+     * 비중은 현재 환율 기준 금액 비중이다. 원자재 통화 1단위를 현재 환율로 각 통화 수량으로 나눠 고정하고,
+     * 날짜별 합성 환율 = Σ 통화 수량 × 그날 환율. 따라서 현재 합성 환율은 원자재 통화의 현재 환율과 같다.
+     */
+    private ExchangeRateSnapshot buildBasketSnapshot(String quoteCurrency, Map<String, BigDecimal> weights) {
+        Function<LocalDate, BigDecimal> basketRate = basketRate(quoteCurrency, weights);
 
-        // 변동률 계산
-        BigDecimal rate1DayAgo = last30Days.stream()
-                .filter(r -> r.getDate().equals(today.minusDays(1)))
-                .map(HistoricalRate::getRate)
-                .findFirst()
-                .orElse(currentRate);
+        LocalDate today = LocalDate.now();
+        List<ExchangeRateResponse.DailyRate> window = new ArrayList<>();
+        for (LocalDate date = today.minusDays(29); !date.isAfter(today); date = date.plusDays(1)) {
+            BigDecimal rate = basketRate.apply(date);
+            if (rate != null) {
+                window.add(ExchangeRateResponse.DailyRate.builder().date(date).rate(rate).build());
+            }
+        }
 
-        BigDecimal rate7DaysAgo = last30Days.stream()
-                .filter(r -> r.getDate().equals(today.minusDays(7)))
-                .map(HistoricalRate::getRate)
-                .findFirst()
-                .orElse(currentRate);
+        return buildSnapshot(BASKET, currentRateOf(quoteCurrency), sourceOf(quoteCurrency), window, basketRate);
+    }
+
+    /**
+     * 날짜별 바스켓 합성 환율 (구성 통화 중 하나라도 그 날짜 이전 이력이 없으면 null)
+     *
+     * @throws IllegalArgumentException 비중 합이 0 이하이거나 이력이 없는 통화가 있는 경우
+     */
+    private Function<LocalDate, BigDecimal> basketRate(String quoteCurrency, Map<String, BigDecimal> weights) {
+        BigDecimal totalWeight = weights.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (totalWeight.signum() <= 0) {
+            throw new IllegalArgumentException("통화 바스켓 비중의 합은 0보다 커야 합니다");
+        }
+
+        BigDecimal quoteRate = currentRateOf(quoteCurrency);
+        Map<RateTimeSeries, BigDecimal> units = new HashMap<>();
+        weights.forEach((currencyCode, weight) -> units.put(
+                rateTimeSeriesStore.get(currencyCode),
+                weight.multiply(quoteRate).divide(totalWeight.multiply(currentRateOf(currencyCode)), MathContext.DECIMAL64)));
 
-        BigDecimal rate30DaysAgo = last30Days.stream()
-                .filter(r -> r.getDate().equals(today.minusDays(29)))
-                .map(HistoricalRate::getRate)
-                .findFirst()
-                .orElse(currentRate);
+        return date -> {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (Map.Entry<RateTimeSeries, BigDecimal> unit : units.entrySet()) {
+                BigDecimal rate = unit.getKey().rateOnOrBefore(date);
+                if (rate == null) {
+                    return null;
+                }
+                sum = sum.add(unit.getValue().multiply(rate));
+            }
+            return sum.setScale(RateTimeSeriesStore.RATE_SCALE, RoundingMode.HALF_UP);
+        };
+    }
+
+    private ExchangeRateSnapshot buildSnapshot(String currencyCode,
+                                               BigDecimal currentRate,
+                                               RateSource rateSource,
+                                               List<ExchangeRateResponse.DailyRate> last30DaysRates,
+                                               Function<LocalDate, BigDecimal> rateOnOrBefore) {
+        LocalDate today = LocalDate.now();
 
-        // 30일 환율 추이
-        List<ExchangeRateResponse.DailyRate> last30DaysRates = last30Days.stream()
-                .map(r -> new ExchangeRateResponse.DailyRate(r.getDate(), r.getRate()))
-                .collect(Collectors.toList());
+        // 변동률 계산 (해당 날짜 값이 없으면 직전 관측일 값)
+        BigDecimal rate1DayAgo = rateOrDefault(rateOnOrBefore, today.minusDays(1), currentRate);
+        BigDecimal rate7DaysAgo = rateOrDefault(rateOnOrBefore, today.minusDays(7), currentRate);
+        BigDecimal rate30DaysAgo = rateOrDefault(rateOnOrBefore, today.minusDays(29), currentRate);
 
         // 응답 빌드
-        return ExchangeRateResponse.builder()
+        ExchangeRateResponse response = ExchangeRateResponse.builder()
+                .currencyCode(currencyCode)
                 .currentRate(currentRate)
+                .rateSource(rateSource)
                 .changeRate1Day(calculateChangeRate(currentRate, rate1DayAgo))
                 .changeRate7Day(calculateChangeRate(currentRate, rate7DaysAgo))
                 .changeRate30Day(calculateChangeRate(currentRate, rate30DaysAgo))
                 .rate1DayAgo(rate1DayAgo)
                 .rate7DaysAgo(rate7DaysAgo)
                 .rate30DaysAgo(rate30DaysAgo)
-                .last30DaysRates(last30DaysRates)
+                .last30DaysRates(List.copyOf(last30DaysRates))
                 .lastUpdated(today)
                 .build();
+
+        return new ExchangeRateSnapshot(response, Instant.now());
     }
 
-    
+
     /**
      * 현재 환율 조회
      */
     public BigDecimal getCurrentRate() {
-        return exchangeRateHistoryRepository.findLatestByCurrencyCode(USD)
-                .map(ExchangeRateHistory::getRate)
-                .orElse(BigDecimal.valueOf(1380.0));
+        BigDecimal latest = rateTimeSeriesStore.get(USD).lastRate();
+        return latest != null ? latest : BigDecimal.valueOf(1380.0);
+    }
+
+    /**
+     * 저장된 이력만으로 현재 환율을 정할 때의 출처 (이력이 없으면 기본값)
+     */
+    private RateSource storedSource(String currencyCode) {
+        return rateTimeSeriesStore.get(currencyCode).isEmpty() ? RateSource.DEFAULT : RateSource.KOREAEXIM;
     }
-    
+
+    /**
+     * 통화의 현재 환율 출처 (USD는 실시간 스냅샷 출처)
+     */
+    private RateSource sourceOf(String currencyCode) {
+        return USD.equals(currencyCode) ? getExchangeRateInfo().getRateSource() : RateSource.KOREAEXIM;
+    }
+
+    /**
+     * 통화의 현재 환율 (USD는 실시간 스냅샷, 그 외는 최신 고시 환율)
+     */
+    private BigDecimal currentRateOf(String currencyCode) {
+        return USD.equals(currencyCode) ? getSnapshotRate() : requireLastRate(currencyCode);
+    }
+
+    private BigDecimal requireLastRate(String currencyCode) {
+        BigDecimal latest = rateTimeSeriesStore.get(currencyCode).lastRate();
+        if (latest == null) {
+            throw new IllegalArgumentException("환율 이력이 없는 통화입니다: " + currencyCode);
+        }
+        return latest;
+    }
+
+    private String quoteCurrency(CompanyInputRequest input) {
+        return input.getMaterialCurrency() != null ? input.getMaterialCurrency() : USD;
+    }
+
     /**
      * 특정 날짜의 환율 조회
      */
     private BigDecimal getRateByDate(LocalDate date) {
         // 해당 날짜에 데이터가 없으면 가장 가까운 이전 날짜 데이터 조회
-        return exchangeRateHistoryRepository.findByRateDateAndCurrencyCode(date, USD)
-                .map(ExchangeRateHistory::getRate)
-                .orElseGet(() -> {
-                    // 이전 날짜들 중 가장 가까운 데이터 찾기
-                    for (int i = 1; i <= 5; i++) {
-                        var prevRate = exchangeRateHistoryRepository
-                                .findByRateDateAndCurrencyCode(date.minusDays(i), USD);
-                        if (prevRate.isPresent()) {
-                            return prevRate.get().getRate();
-                        }
-                    }
-                    return getCurrentRate();
-                });
-    }
-    
+        return rateOrDefault(rateTimeSeriesStore.get(USD)::rateOnOrBefore, date, getCurrentRate());
+    }
+
+    private BigDecimal rateOrDefault(Function<LocalDate, BigDecimal> rateOnOrBefore, LocalDate date, BigDecimal defaultRate) {
+        BigDecimal rate = rateOnOrBefore.apply(date);
+        return rate != null ? rate : defaultRate;
+    }
+
     /**
      * 환율 변동률 계산
      */
@@ -141,21 +383,26 @@ public class ExchangeRateService {
                 .multiply(BigDecimal.valueOf(100))
                 .setScale(2, RoundingMode.HALF_UP);
     }
-    
+
     /**
-     * 최근 30일 환율 추이 조회
+     * 입력값의 원자재 통화 / 통화 바스켓 기준 최근 days일 일별 환율 (날짜 오름차순)
+     *
+     * 저장소에는 고시된 날짜만 있으므로 주말·공휴일은 직전 관측치로 채워 달력 일 단위로 맞춘다
+     * (시뮬레이션 기간이 달력 일 기준). 첫 관측일 이전 날짜는 제외한다.
+     * 바스켓은 날짜별 합성 환율이며, 구성 통화 이력이 모두 있는 날짜부터 포함된다.
      */
-    private List<ExchangeRateResponse.DailyRate> getLast30DaysRates() {
-        LocalDate startDate = LocalDate.now().minusDays(30);
-        List<ExchangeRateHistory> histories = exchangeRateHistoryRepository
-                .findByDateRangeAndCurrencyCode(startDate, USD);
-        
-        return histories.stream()
-                .map(h -> ExchangeRateResponse.DailyRate.builder()
-                        .date(h.getRateDate())
-                        .rate(h.getRate())
-                        .build())
-                .collect(Collectors.toList());
+    public double[] getRateSeries(CompanyInputRequest input, int days) {
+        LocalDate today = LocalDate.now();
+        Map<String, BigDecimal> basket = input.getCurrencyBasket();
+        Function<LocalDate, BigDecimal> rateOn = basket == null || basket.isEmpty()
+                ? rateTimeSeriesStore.get(quoteCurrency(input))::rateOnOrBefore
+                : basketRate(quoteCurrency(input), basket);
+
+        return today.minusDays(days - 1L).datesUntil(today.plusDays(1))
+                .map(rateOn)
+                .filter(rate -> rate != null)
+                .mapToDouble(BigDecimal::doubleValue)
+                .toArray();
     }
 
 }
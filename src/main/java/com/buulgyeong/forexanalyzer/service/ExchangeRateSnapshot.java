@@ -0,0 +1,21 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 요청 스레드가 읽는 환율 스냅샷
+ *
+ * 수집 스케줄러가 갱신할 때마다 새 인스턴스로 통째로 교체되며, 한 번 게시된 스냅샷은 수정하지 않는다.
+ * 응답 객체는 모든 요청이 공유하므로 호출 측에서 값을 변경하면 안 된다.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class ExchangeRateSnapshot {
+
+    private final ExchangeRateResponse response;  // 미리 계산된 환율 응답
+    private final Instant refreshedAt;            // 스냅샷 생성 시각
+}
@@ -4,19 +4,28 @@ import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
 import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
 import com.buulgyeong.forexanalyzer.dto.FinalReportResponse;
 import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,8 +34,11 @@ public class FinalReportService {
 
     private final ExchangeRateService exchangeRateService;
     private final ProfitLossAnalysisService profitLossAnalysisService;
-    private final WebClient.Builder webClientBuilder;
+    @Qualifier("upstageWebClient")
+    private final WebClient upstageWebClient;
     private final ObjectMapper objectMapper;
+    private final ReportContextEncoder contextEncoder;
+    private final ForexMetrics metrics;
 
     @Value("${external.upstage.api-url}")
     private String upstageBaseUrl;
@@ -35,58 +47,169 @@ public class FinalReportService {
     private String apiKey;
 
     /**
-     * 엔트리 포인트: 입력을 받아 (1) 환율 요약 JSON, (2) 손익 분석 전체 JSON 취합,
-     * (3) AI에 전달 -> Markdown 보고서 수신 또는 fallback 생성 -> FinalReportResponse 반환
+     * 엔트리 포인트: 입력을 받아 (1) 환율 JSON, (2) 손익 분석 전체 JSON 취합,
+     * (3) 요약 컨텍스트를 AI에 전달 -> Markdown 보고서 수신 또는 fallback 생성 -> FinalReportResponse 반환
      */
     public FinalReportResponse generateFinalReportForInput(CompanyInputRequest input) {
-        Instant started = Instant.now();
+        return generateFinalReportForInput(input, exchangeRateService.getExchangeRateInfo(input));
+    }
 
-        // 1) 환율 요약 JSON (토큰 절약용) & 전체 분석 JSON
-        String exchangeRateJson;
-        String analysisJson;
-        try {
-            ExchangeRateResponse ex = exchangeRateService.getExchangeRateInfo();
-            exchangeRateJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(ex);
-        } catch (Exception e) {
-            log.warn("환율 요약 직렬화 실패: {}", e.getMessage());
-            exchangeRateJson = "{}";
-        }
+    /**
+     * 이미 조회한 환율 정보로 최종 리포트 생성 (환율 요약과 손익 분석이 같은 환율을 사용)
+     */
+    public FinalReportResponse generateFinalReportForInput(CompanyInputRequest input, ExchangeRateResponse ex) {
+        Instant started = Instant.now();
 
+        // 1) 손익 분석 전체 & 프롬프트용 요약 컨텍스트
+        ProfitLossAnalysisResponse analysis;
         try {
-            ProfitLossAnalysisResponse analysis = profitLossAnalysisService.analyze(input);
-            analysisJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(analysis);
+            analysis = profitLossAnalysisService.analyze(input, ex);
         } catch (Exception e) {
             log.error("손익 분석 취합 실패: {}", e.getMessage(), e);
-            analysisJson = "{}";
+            analysis = null;
         }
+        ReportContext context = buildContext(ex, analysis, started);
 
         // 2) 프롬프트 생성 & AI 호출
         String reportMarkdown;
         try {
-            reportMarkdown = generateFinalReport(exchangeRateJson, analysisJson);
-            if (reportMarkdown == null || reportMarkdown.isBlank()) {
-                log.warn("AI 응답 비어있음 - fallback 리포트 생성");
-                reportMarkdown = generateFallbackReport(analysisJson, exchangeRateJson);
-            }
+            String prompt = buildPrompt(context);
+            reportMarkdown = metrics.timeStage(ForexMetrics.STAGE_AI_FINAL_REPORT, () -> callUpstageApi(prompt));
         } catch (Exception e) {
             log.error("AI 호출 실패: {}", e.getMessage(), e);
-            reportMarkdown = generateFallbackReport(analysisJson, exchangeRateJson);
+            reportMarkdown = null;
+        }
+
+        return completeReport(context, reportMarkdown);
+    }
+
+    /**
+     * 최종 리포트 생성 (non-blocking)
+     *
+     * 손익 분석의 AI 호출과 리포트 AI 호출을 WebClient 응답으로 이어 붙여 대기 중 스레드를 점유하지 않는다.
+     * 분석 실패 시 환율 요약만으로, AI 실패 시 fallback 리포트로 완료한다.
+     */
+    public Mono<FinalReportResponse> generateFinalReportAsync(CompanyInputRequest input) {
+        return Mono.defer(() -> {
+            Instant started = Instant.now();
+            ExchangeRateResponse ex = exchangeRateService.getExchangeRateInfo(input);
+
+            return profitLossAnalysisService.analyzeAsync(input, ex)
+                    .map(Optional::of)
+                    .onErrorResume(e -> {
+                        log.error("손익 분석 취합 실패: {}", e.getMessage(), e);
+                        return Mono.just(Optional.empty());
+                    })
+                    .flatMap(analysis -> {
+                        ReportContext context = buildContext(ex, analysis.orElse(null), started);
+                        return metrics.timeStage(ForexMetrics.STAGE_AI_FINAL_REPORT,
+                                        Mono.defer(() -> callUpstageApiAsync(buildPrompt(context))))
+                                .onErrorResume(e -> {
+                                    log.error("AI 호출 실패: {}", e.getMessage(), e);
+                                    return Mono.empty();
+                                })
+                                .map(reportMarkdown -> completeReport(context, reportMarkdown))
+                                .switchIfEmpty(Mono.fromSupplier(() -> completeReport(context, null)));
+                    });
+        });
+    }
+
+    /**
+     * 스트리밍 리포트용 입력 준비
+     *
+     * 첫 응답을 빨리 보내기 위해 손익 분석은 AI 평가/전략 없이 계산 결과만 사용한다.
+     */
+    public ReportContext prepareReport(CompanyInputRequest input, ExchangeRateResponse ex) {
+        Instant started = Instant.now();
+        return buildContext(ex, profitLossAnalysisService.analyzeDeterministic(input, ex), started);
+    }
+
+    /**
+     * Upstage 스트리밍 응답을 받아 생성되는 텍스트 조각(delta)을 도착하는 대로 전달
+     */
+    public Flux<String> streamReport(ReportContext context) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return Flux.error(new IllegalStateException("Upstage API key is not configured."));
+        }
+
+        return metrics.timeUpstream(ForexMetrics.UPSTAGE, upstageWebClient
+                .post()
+                .uri(upstageBaseUrl)
+                .header("Authorization", "Bearer " + apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(buildRequestBody(buildPrompt(context), true))
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {}))
+                .map(ServerSentEvent::data)
+                .filter(Objects::nonNull)
+                .takeWhile(data -> !"[DONE]".equals(data.trim()))
+                .map(this::extractDelta)
+                .filter(delta -> !delta.isEmpty());
+    }
+
+    /**
+     * 생성된 마크다운으로 최종 응답 구성 (비어 있으면 fallback 리포트)
+     */
+    public FinalReportResponse completeReport(ReportContext context, String reportMarkdown) {
+        if (reportMarkdown == null || reportMarkdown.isBlank()) {
+            log.warn("AI 응답 비어있음 - fallback 리포트 생성");
+            metrics.fallback(ForexMetrics.FALLBACK_FINAL_REPORT);
+            reportMarkdown = generateFallbackReport(context.analysisJson(), context.exchangeRateJson());
         }
+        metrics.recordStage(ForexMetrics.STAGE_FINAL_REPORT, Duration.between(context.startedAt(), Instant.now()));
 
-        FinalReportResponse response = FinalReportResponse.builder()
+        return FinalReportResponse.builder()
                 .reportMarkdown(reportMarkdown)
-                .aiContextJson(exchangeRateJson)   // 요약(환율) JSON을 aiContext로 전달
-                .fullAnalysisJson(analysisJson)
-                .generatedAt(started)
+                .aiContextJson(context.promptContext())   // 프롬프트에 실제로 넣은 요약 JSON
+                .fullAnalysisJson(context.analysisJson())
+                .generatedAt(context.startedAt())
                 .build();
+    }
+
+    /**
+     * 리포트 데이터
+     *
+     * promptContext는 프롬프트에 넣는 요약 JSON, exchangeRateJson/analysisJson은 응답과 fallback 리포트용 원본이다.
+     */
+    public record ReportContext(String promptContext, String exchangeRateJson, String analysisJson, Instant startedAt) {
+    }
+
+    private ReportContext buildContext(ExchangeRateResponse ex, ProfitLossAnalysisResponse analysis, Instant started) {
+        ReportContextEncoder.EncodedContext encoded = contextEncoder.encode(ex, analysis);
+        return new ReportContext(
+                encoded.json(),
+                toReportJson(ex, "환율 요약"),
+                analysis != null ? toReportJson(analysis, "손익 분석") : "{}",
+                started);
+    }
+
+    private String toReportJson(Object data, String label) {
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(data);
+        } catch (Exception e) {
+            log.warn("{} 직렬화 실패: {}", label, e.getMessage());
+            return "{}";
+        }
+    }
 
-        return response;
+    /**
+     * 스트리밍 청크에서 choices[0].delta.content 추출
+     */
+    private String extractDelta(String chunk) {
+        try {
+            JsonNode content = objectMapper.readTree(chunk).path("choices").path(0).path("delta").path("content");
+            return content.isTextual() ? content.asText() : "";
+        } catch (Exception e) {
+            log.warn("Upstage 스트리밍 청크 파싱 실패: {}", e.getMessage());
+            return "";
+        }
     }
 
     /**
-     * 프롬프트 생성 및 Upstage 호출
+     * 리포트 프롬프트 생성
      */
-    private String generateFinalReport(String exchangeRateData, String profitLossAnalysisResponse) {
+    private String buildPrompt(ReportContext context) {
         String prompt = String.format("""
                 당신은 기업의 재무·원가·환율·손익 구조를 설명하는 전문 애널리스트입니다.
                 아래 제공되는 OUTPUT DATA는 특정 기업의 실시간 손익 분석 시스템에서 산출된 결과입니다.
@@ -94,8 +217,10 @@ public class FinalReportService {
                 전문 분석 리포트 형태로 작성하세요.
                                 
                 [OUTPUT DATA]
-                환율 요약(JSON): %s
-                손익 분석 전체(JSON): %s
+                요약(JSON): %s
+                키 설명: fx=환율(now 현재, chg%% 1/7/30일 변동률, trend 최근 추이: 최저/최고[값,월-일], 평균, 표준편차, 일별 기울기, pts 표본점),
+                pl=실시간 손익(원, %%), timing=손익분기/목표 달성 환율, status=환율 상태(pos%% 범위 내 위치),
+                scn=환율 시나리오(cols 열 순서, cur 현재 행), curve=환율별 마진율(양 끝점, 환율 1%% 상승당 마진율 변화), costs=원가 구성
                                 
                 [작성 규칙]
                 • 데이터 기반 분석만 작성하고, 과도한 추측이나 데이터에 없는 정보는 포함하지 않는다.
@@ -114,40 +239,37 @@ public class FinalReportService {
                 💡 종합 의견(Conclusion)
                 📊 전략적 접근 및 팁
                 
-                """, exchangeRateData, profitLossAnalysisResponse);
-
-        return callUpstageApi(prompt);
+                """, context.promptContext());
+        metrics.recordPromptTokens(ForexMetrics.STAGE_AI_FINAL_REPORT, TokenEstimator.estimate(prompt));
+        return prompt;
     }
 
     /**
      * Upstage(혹은 Solar) API 호출 + 응답 파싱
      */
     private String callUpstageApi(String prompt) {
+        return callUpstageApiAsync(prompt).block();
+    }
+
+    private Mono<String> callUpstageApiAsync(String prompt) {
         if (apiKey == null || apiKey.isBlank()) {
             log.warn("Upstage API key 미설정 - AI 호출 불가");
-            throw new IllegalStateException("Upstage API key is not configured.");
+            return Mono.error(new IllegalStateException("Upstage API key is not configured."));
         }
 
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", "solar-pro2");
-        requestBody.put("messages", List.of(Map.of("role", "user", "content", prompt)));
-        requestBody.put("max_tokens", 1200);
-        requestBody.put("temperature", 0.2);
-
-        String rawResponse = webClientBuilder.build()
+        return metrics.timeUpstream(ForexMetrics.UPSTAGE, upstageWebClient
                 .post()
                 .uri(upstageBaseUrl) // 실제 엔드포인트에 맞게 조정하세요
                 .header("Authorization", "Bearer " + apiKey)
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestBody)
+                .bodyValue(buildRequestBody(prompt, false))
                 .retrieve()
-                .bodyToMono(String.class)
-                .block();
-
-        if (rawResponse == null) {
-            throw new RuntimeException("Upstage API 응답이 없음");
-        }
+                .bodyToMono(String.class))
+                .map(this::extractReport)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Upstage API 응답이 없음")));
+    }
 
+    private String extractReport(String rawResponse) {
         // 응답 파싱: choices[0].message.content 또는 choices[0].text 등 가능성 처리
         try {
             JsonNode root = objectMapper.readTree(rawResponse);
@@ -171,6 +293,16 @@ public class FinalReportService {
         throw new RuntimeException("Upstage API 응답 파싱 실패");
     }
 
+    private Map<String, Object> buildRequestBody(String prompt, boolean stream) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", "solar-pro2");
+        requestBody.put("messages", List.of(Map.of("role", "user", "content", prompt)));
+        requestBody.put("max_tokens", 1200);
+        requestBody.put("temperature", 0.2);
+        requestBody.put("stream", stream);
+        return requestBody;
+    }
+
     /**
      * AI 실패 시 local fallback 리포트 생성 (간단, 데이터 기반 요약)
      */
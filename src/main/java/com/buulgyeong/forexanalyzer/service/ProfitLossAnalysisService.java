@@ -5,80 +5,238 @@ import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
 import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
 import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse.*;
 import com.buulgyeong.forexanalyzer.external.UpstageAiClient;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProfitLossAnalysisService {
     
+    // 분석 간격 (현재 환율 대비 비율, USD 기준 시나리오 20원 / 곡선 10원)
+    private static final double SCENARIO_STEP_FRACTION = 0.015;
+    private static final double MARGIN_CURVE_STEP_FRACTION = 0.0075;
+    private static final BigDecimal STATUS_HALF_RANGE_STEPS = new BigDecimal("3.75");
+    
     private final ExchangeRateService exchangeRateService;
     private final UpstageAiClient upstageAiClient;
     
+    private final ForexMetrics metrics;
+    
+    @Value("${forex.ai.timeout-ms:8000}")
+    private long aiTimeoutMs;
+    
+    @Value("${forex.ai.combined:true}")
+    private boolean combinedAi;
+    
     /**
      * 종합 손익 분석 수행
      */
     public ProfitLossAnalysisResponse analyze(CompanyInputRequest input) {
-        ExchangeRateResponse exchangeRateInfo = exchangeRateService.getExchangeRateInfo();
+        return analyze(input, exchangeRateService.getExchangeRateInfo(input));
+    }
+
+    /**
+     * 종합 손익 분석 수행 (이미 조회한 환율 정보 사용)
+     *
+     * 한 요청 안에서 환율 정보를 한 번만 조회하고 모든 단계가 같은 값을 보도록 할 때 사용
+     */
+    public ProfitLossAnalysisResponse analyze(CompanyInputRequest input, ExchangeRateResponse exchangeRateInfo) {
+        return analyzeStaged(input, exchangeRateInfo).join();
+    }
+    
+    /**
+     * 종합 손익 분석 (non-blocking)
+     */
+    public Mono<ProfitLossAnalysisResponse> analyzeAsync(CompanyInputRequest input) {
+        return Mono.defer(() -> analyzeAsync(input, exchangeRateService.getExchangeRateInfo(input)));
+    }
+    
+    /**
+     * 종합 손익 분석 (non-blocking, 이미 조회한 환율 정보 사용)
+     *
+     * 결정적 계산은 호출 스레드에서 바로 수행하고, AI 평가/전략은 WebClient 응답을 기다리지 않고 조합한다.
+     * 스레드를 점유하지 않으므로 동시 AI 호출 수는 스레드 풀 크기와 무관하다.
+     */
+    public Mono<ProfitLossAnalysisResponse> analyzeAsync(CompanyInputRequest input, ExchangeRateResponse exchangeRateInfo) {
+        return Mono.defer(() -> {
+            ProfitLossAnalysisResponse response = analyzeDeterministic(input, exchangeRateInfo);
+            Mono<UpstageAiClient.Insights> insights = combinedAi
+                    ? aiInsights(input, exchangeRateInfo, response.getOrderTimingGuide())
+                    : Mono.zip(aiEvaluation(input, exchangeRateInfo, response.getOrderTimingGuide()),
+                            aiStrategy(input, exchangeRateInfo, response.getOrderTimingGuide()),
+                            UpstageAiClient.Insights::new);
+            
+            return insights.map(result -> {
+                response.getExchangeRateStatus().setAiEvaluation(result.evaluation());
+                response.setMonitoringStrategy(result.strategy());
+                return response;
+            });
+        });
+    }
+    
+    /**
+     * 결정적 계산 결과를 즉시 반환하고 AI 결과는 future로 전달하는 손익 분석
+     *
+     * AI 호출은 analyzeAsync와 같은 non-blocking 호출을 바로 구독해 future로 바꾼 것이다.
+     */
+    public StagedAnalysis analyzeStaged(CompanyInputRequest input, ExchangeRateResponse exchangeRateInfo) {
+        ProfitLossAnalysisResponse response = analyzeDeterministic(input, exchangeRateInfo);
+        OrderTimingGuide guide = response.getOrderTimingGuide();
+        
+        if (combinedAi) {
+            // AI 평가 / 모니터링 전략을 한 번의 호출로 요청
+            CompletableFuture<UpstageAiClient.Insights> insights = aiInsights(input, exchangeRateInfo, guide).toFuture();
+            return new StagedAnalysis(response,
+                    insights.thenApply(UpstageAiClient.Insights::evaluation),
+                    insights.thenApply(UpstageAiClient.Insights::strategy));
+        }
+        
+        // AI 평가 / 모니터링 전략은 병렬로 요청
+        return new StagedAnalysis(response,
+                aiEvaluation(input, exchangeRateInfo, guide).toFuture(),
+                aiStrategy(input, exchangeRateInfo, guide).toFuture());
+    }
+    
+    /**
+     * AI 호출 없이 계산만으로 구성한 손익 분석 (aiEvaluation / monitoringStrategy 비어 있음)
+     */
+    public ProfitLossAnalysisResponse analyzeDeterministic(CompanyInputRequest input, ExchangeRateResponse exchangeRateInfo) {
+        return metrics.timeStage(ForexMetrics.STAGE_DETERMINISTIC_ANALYSIS, () -> computeDeterministic(input, exchangeRateInfo));
+    }
+    
+    private ProfitLossAnalysisResponse computeDeterministic(CompanyInputRequest input, ExchangeRateResponse exchangeRateInfo) {
         BigDecimal currentRate = exchangeRateInfo.getCurrentRate();
         BigDecimal rate30DaysAgo = exchangeRateInfo.getRate30DaysAgo();
         
+        // 원가/마진 반복 계산용 정수 커널 (정수로 표현할 수 없는 입력이면 null -> BigDecimal 계산)
+        CostKernel kernel = CostKernel.compile(input);
+        
         // 1. 실시간 손익 분석
-        RealTimeProfitLoss realTimeProfitLoss = calculateRealTimeProfitLoss(input, currentRate, rate30DaysAgo);
+        RealTimeProfitLoss realTimeProfitLoss = calculateRealTimeProfitLoss(input, kernel, currentRate, rate30DaysAgo);
         
         // 2. 발주 타이밍 가이드
         OrderTimingGuide orderTimingGuide = calculateOrderTimingGuide(input);
         
         // 3. 환율 상태 평가
         ExchangeRateStatus exchangeRateStatus = evaluateExchangeRateStatus(
-                input, currentRate, orderTimingGuide.getBreakEvenExchangeRate(), 
-                orderTimingGuide.getTargetExchangeRate()
+                currentRate, orderTimingGuide.getBreakEvenExchangeRate(), 
+                orderTimingGuide.getTargetExchangeRate(), scenarioStep(currentRate)
         );
         
-        // 4. AI 모니터링 전략
-        String monitoringStrategy = upstageAiClient.generateMonitoringStrategy(
-                currentRate,
-                orderTimingGuide.getBreakEvenExchangeRate(),
-                orderTimingGuide.getTargetExchangeRate(),
-                exchangeRateInfo.getChangeRate30Day()
-        );
+        // 4. 환율 시나리오별 분석
+        List<ScenarioAnalysis> scenarioAnalysisList = generateScenarioAnalysis(input, kernel, currentRate);
         
-        // 5. 환율 시나리오별 분석
-        List<ScenarioAnalysis> scenarioAnalysisList = generateScenarioAnalysis(input, currentRate);
+        // 5. 환율 변동에 따른 마진율 변화
+        List<MarginRateChange> marginRateChanges = generateMarginRateChanges(input, kernel, currentRate);
         
-        // 6. 환율 변동에 따른 마진율 변화
-        List<MarginRateChange> marginRateChanges = generateMarginRateChanges(input, currentRate);
-        
-        // 7. 상세 원가 분석
+        // 6. 상세 원가 분석
         DetailedCostAnalysis detailedCostAnalysis = calculateDetailedCostAnalysis(input, currentRate);
         
         return ProfitLossAnalysisResponse.builder()
                 .realTimeProfitLoss(realTimeProfitLoss)
                 .orderTimingGuide(orderTimingGuide)
                 .exchangeRateStatus(exchangeRateStatus)
-                .monitoringStrategy(monitoringStrategy)
                 .scenarioAnalysisList(scenarioAnalysisList)
                 .marginRateChanges(marginRateChanges)
                 .detailedCostAnalysis(detailedCostAnalysis)
                 .build();
     }
     
+    /**
+     * AI 환율 평가 + 모니터링 전략 통합 요청
+     */
+    private Mono<UpstageAiClient.Insights> aiInsights(CompanyInputRequest input,
+                                                      ExchangeRateResponse exchangeRateInfo,
+                                                      OrderTimingGuide guide) {
+        String currency = currencyOf(input);
+        BigDecimal currentRate = exchangeRateInfo.getCurrentRate();
+        BigDecimal breakEvenRate = guide.getBreakEvenExchangeRate();
+        BigDecimal targetRate = guide.getTargetExchangeRate();
+        BigDecimal targetMarginRate = input.getTargetMarginRate();
+        BigDecimal changeRate30Day = exchangeRateInfo.getChangeRate30Day();
+        
+        return aiAsync(ForexMetrics.STAGE_AI_INSIGHTS,
+                upstageAiClient.generateInsightsAsync(currency, currentRate, breakEvenRate, targetRate, targetMarginRate, changeRate30Day),
+                () -> new UpstageAiClient.Insights(
+                        upstageAiClient.generateDefaultEvaluation(currency, currentRate, breakEvenRate, targetRate, targetMarginRate),
+                        upstageAiClient.generateDefaultStrategy(currency, currentRate, breakEvenRate, targetRate, changeRate30Day))
+        );
+    }
+    
+    /**
+     * AI 환율 평가 요청
+     */
+    private Mono<String> aiEvaluation(CompanyInputRequest input,
+                                      ExchangeRateResponse exchangeRateInfo,
+                                      OrderTimingGuide guide) {
+        String currency = currencyOf(input);
+        BigDecimal currentRate = exchangeRateInfo.getCurrentRate();
+        BigDecimal breakEvenRate = guide.getBreakEvenExchangeRate();
+        BigDecimal targetRate = guide.getTargetExchangeRate();
+        BigDecimal targetMarginRate = input.getTargetMarginRate();
+        
+        return aiAsync(ForexMetrics.STAGE_AI_EVALUATION,
+                upstageAiClient.generateExchangeRateEvaluationAsync(currency, currentRate, breakEvenRate, targetRate, targetMarginRate),
+                () -> upstageAiClient.generateDefaultEvaluation(currency, currentRate, breakEvenRate, targetRate, targetMarginRate)
+        );
+    }
+    
+    /**
+     * AI 모니터링 전략 요청
+     */
+    private Mono<String> aiStrategy(CompanyInputRequest input,
+                                    ExchangeRateResponse exchangeRateInfo,
+                                    OrderTimingGuide guide) {
+        String currency = currencyOf(input);
+        BigDecimal currentRate = exchangeRateInfo.getCurrentRate();
+        BigDecimal breakEvenRate = guide.getBreakEvenExchangeRate();
+        BigDecimal targetRate = guide.getTargetExchangeRate();
+        BigDecimal changeRate30Day = exchangeRateInfo.getChangeRate30Day();
+        
+        return aiAsync(ForexMetrics.STAGE_AI_MONITORING,
+                upstageAiClient.generateMonitoringStrategyAsync(currency, currentRate, breakEvenRate, targetRate, changeRate30Day),
+                () -> upstageAiClient.generateDefaultStrategy(currency, currentRate, breakEvenRate, targetRate, changeRate30Day)
+        );
+    }
+    
+    /**
+     * non-blocking AI 호출에 호출당 제한 시간 / fallback 적용 (AI 결과의 유일한 fallback 경로)
+     *
+     * 단계 시간은 결과(또는 fallback)가 준비될 때까지 잰다.
+     */
+    private <T> Mono<T> aiAsync(String stage, Mono<T> call, Supplier<T> fallback) {
+        return metrics.timeStage(stage, call
+                .timeout(Duration.ofMillis(aiTimeoutMs))
+                .onErrorResume(e -> {
+                    log.warn("AI 호출 실패 또는 시간 초과 - 기본 메시지 사용: {}", e.toString());
+                    return Mono.fromSupplier(fallback);
+                }));
+    }
+    
     /**
      * 실시간 손익 분석 계산
      */
     private RealTimeProfitLoss calculateRealTimeProfitLoss(CompanyInputRequest input, 
+                                                           CostKernel kernel,
                                                            BigDecimal currentRate, 
                                                            BigDecimal rate30DaysAgo) {
         // 현재 원가 계산
-        BigDecimal currentCost = calculateTotalCost(input, currentRate);
-        BigDecimal cost30DaysAgo = calculateTotalCost(input, rate30DaysAgo);
+        BigDecimal currentCost = calculateTotalCost(input, kernel, currentRate);
+        BigDecimal cost30DaysAgo = calculateTotalCost(input, kernel, rate30DaysAgo);
         
         // 원가 변동률
         BigDecimal costChangeRate30Day = calculatePercentageChange(currentCost, cost30DaysAgo);
@@ -124,10 +282,11 @@ public class ProfitLossAnalysisService {
         
         BigDecimal materialRatioDecimal = input.getMaterialRatio().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
         
-        BigDecimal breakEvenRate = input.getSellingPriceKrw()
+        // 자릿수는 환율 크기에 맞춤 (USD 소수 2자리, JPY 4자리, IDR 6자리)
+        BigDecimal breakEvenRate = RateGrid.round(input.getSellingPriceKrw()
                 .subtract(input.getOtherCostsKrw())
                 .multiply(materialRatioDecimal)
-                .divide(input.getMaterialCostUsd(), 2, RoundingMode.HALF_UP);
+                .divide(input.getMaterialCostUsd(), MathContext.DECIMAL64));
         
         // 목표 마진 달성 환율 계산
         // 납품단가 - 총원가 = 납품단가 * 목표마진율
@@ -136,12 +295,13 @@ public class ProfitLossAnalysisService {
         BigDecimal maxAllowedCost = input.getSellingPriceKrw()
                 .multiply(BigDecimal.ONE.subtract(targetMarginRateDecimal));
         
-        BigDecimal targetExchangeRate = maxAllowedCost
+        BigDecimal targetExchangeRate = RateGrid.round(maxAllowedCost
                 .subtract(input.getOtherCostsKrw())
                 .multiply(materialRatioDecimal)
-                .divide(input.getMaterialCostUsd(), 2, RoundingMode.HALF_UP);
+                .divide(input.getMaterialCostUsd(), MathContext.DECIMAL64));
         
-        String breakEvenMessage = String.format("해당 환율(%.1f원/USD) 이하에서 발주 시 흑자 전환", breakEvenRate);
+        String breakEvenMessage = String.format("해당 환율(%s원/%s) 이하에서 발주 시 흑자 전환",
+                RateGrid.format(breakEvenRate), currencyOf(input));
         String targetMessage = String.format("목표 마진율 %.1f%% 달성 가능", input.getTargetMarginRate());
         
         return OrderTimingGuide.builder()
@@ -154,14 +314,17 @@ public class ProfitLossAnalysisService {
     
     /**
      * 환율 상태 평가
+     *
+     * 범위와 구간 경계는 시나리오 간격(step) 기준이다 (USD: step 20원 -> 목표환율 ±75원, 손익분기 +20원/+40원).
      */
-    private ExchangeRateStatus evaluateExchangeRateStatus(CompanyInputRequest input,
-                                                          BigDecimal currentRate,
+    private ExchangeRateStatus evaluateExchangeRateStatus(BigDecimal currentRate,
                                                           BigDecimal breakEvenRate,
-                                                          BigDecimal targetRate) {
-        // 범위 설정 (목표환율 기준 ±75원)
-        BigDecimal minRange = targetRate.subtract(BigDecimal.valueOf(75));
-        BigDecimal maxRange = targetRate.add(BigDecimal.valueOf(75));
+                                                          BigDecimal targetRate,
+                                                          BigDecimal step) {
+        // 범위 설정 (목표환율 기준 ±step * 3.75)
+        BigDecimal halfRange = step.multiply(STATUS_HALF_RANGE_STEPS);
+        BigDecimal minRange = targetRate.subtract(halfRange);
+        BigDecimal maxRange = targetRate.add(halfRange);
         
         // 현재 위치 계산 (0~100%)
         BigDecimal range = maxRange.subtract(minRange);
@@ -184,10 +347,10 @@ public class ProfitLossAnalysisService {
         } else if (currentRate.compareTo(breakEvenRate) <= 0) {
             statusLevel = "GOOD";
             statusMessage = "양호한 발주 구간 (권장)";
-        } else if (currentRate.compareTo(breakEvenRate.add(BigDecimal.valueOf(20))) <= 0) {
+        } else if (currentRate.compareTo(breakEvenRate.add(step)) <= 0) {
             statusLevel = "NORMAL";
             statusMessage = "보통 구간 (선별적 발주)";
-        } else if (currentRate.compareTo(breakEvenRate.add(BigDecimal.valueOf(40))) <= 0) {
+        } else if (currentRate.compareTo(breakEvenRate.add(step.multiply(BigDecimal.valueOf(2)))) <= 0) {
             statusLevel = "WARNING";
             statusMessage = "주의 구간 (발주 자제 권장)";
         } else {
@@ -195,11 +358,6 @@ public class ProfitLossAnalysisService {
             statusMessage = "위험 구간 (발주 지연 권장)";
         }
         
-        // AI 평가 생성
-        String aiEvaluation = upstageAiClient.generateExchangeRateEvaluation(
-                currentRate, breakEvenRate, targetRate, input.getTargetMarginRate()
-        );
-        
         return ExchangeRateStatus.builder()
                 .currentRate(currentRate)
                 .minRange(minRange)
@@ -207,31 +365,44 @@ public class ProfitLossAnalysisService {
                 .position(position)
                 .statusLevel(statusLevel)
                 .statusMessage(statusMessage)
-                .aiEvaluation(aiEvaluation)
                 .build();
     }
     
     /**
-     * 환율 시나리오별 분석 생성 (20원 단위, 5개 범주)
+     * 환율 시나리오별 분석 생성 (현재 환율의 약 1.5% 간격, 5개 범주 - USD 20원 단위)
+     *
+     * 원가/마진 계산 메서드들은 JMH 벤치마크(src/jmh)에서 직접 호출할 수 있도록 package-private
      */
-    private List<ScenarioAnalysis> generateScenarioAnalysis(CompanyInputRequest input, BigDecimal currentRate) {
+    List<ScenarioAnalysis> generateScenarioAnalysis(CompanyInputRequest input, CostKernel kernel, BigDecimal currentRate) {
         List<ScenarioAnalysis> scenarios = new ArrayList<>();
         
-        // 현재 환율을 20원 단위로 반올림
-        BigDecimal roundedRate = currentRate.divide(BigDecimal.valueOf(20), 0, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(20));
+        // 현재 환율을 시나리오 간격 단위로 반올림
+        BigDecimal step = scenarioStep(currentRate);
+        BigDecimal roundedRate = currentRate.divide(step, 0, RoundingMode.HALF_UP)
+                .multiply(step);
         
-        // -40원 ~ +40원 범위로 5개 시나리오 생성
+        // -2 ~ +2 간격 범위로 5개 시나리오 생성
         for (int i = -2; i <= 2; i++) {
-            BigDecimal scenarioRate = roundedRate.add(BigDecimal.valueOf(i * 20));
+            BigDecimal scenarioRate = roundedRate.add(step.multiply(BigDecimal.valueOf(i)));
+            boolean isCurrent = scenarioRate.compareTo(roundedRate) == 0;
+            
+            long costCents = kernel != null ? kernel.costCents(CostKernel.toRate4(scenarioRate)) : CostKernel.UNSUPPORTED;
+            long marginCents = kernel != null ? kernel.marginCents(costCents) : CostKernel.UNSUPPORTED;
+            long marginRateBasis = kernel != null ? kernel.marginRateBasis(marginCents) : CostKernel.UNSUPPORTED;
+            if (marginRateBasis != CostKernel.UNSUPPORTED) {
+                scenarios.add(ScenarioAnalysis.builder()
+                        .exchangeRate(scenarioRate)
+                        .cost(CostKernel.won(costCents))
+                        .margin(CostKernel.won(marginCents))
+                        .marginRate(CostKernel.percent(marginRateBasis))
+                        .isCurrent(isCurrent)
+                        .build());
+                continue;
+            }
+            
             BigDecimal cost = calculateTotalCost(input, scenarioRate);
             BigDecimal margin = input.getSellingPriceKrw().subtract(cost);
-            BigDecimal marginRate = margin
-                    .divide(input.getSellingPriceKrw(), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-                    .setScale(2, RoundingMode.HALF_UP);
-            
-            boolean isCurrent = scenarioRate.compareTo(roundedRate) == 0;
+            BigDecimal marginRate = calculateMarginRate(margin, input.getSellingPriceKrw());
             
             scenarios.add(ScenarioAnalysis.builder()
                     .exchangeRate(scenarioRate)
@@ -248,20 +419,26 @@ public class ProfitLossAnalysisService {
     /**
      * 환율 변동에 따른 마진율 변화 데이터 생성
      */
-    private List<MarginRateChange> generateMarginRateChanges(CompanyInputRequest input, BigDecimal currentRate) {
+    List<MarginRateChange> generateMarginRateChanges(CompanyInputRequest input, CostKernel kernel, BigDecimal currentRate) {
         List<MarginRateChange> changes = new ArrayList<>();
         
-        // 현재 환율 기준 -100원 ~ +100원 범위, 10원 단위
-        BigDecimal startRate = currentRate.subtract(BigDecimal.valueOf(100));
+        // 현재 환율의 약 0.75% 간격으로 ±10 간격 범위 (USD -100원 ~ +100원, 10원 단위)
+        BigDecimal step = RateGrid.step(currentRate, MARGIN_CURVE_STEP_FRACTION);
+        BigDecimal startRate = currentRate.subtract(step.multiply(BigDecimal.valueOf(10)));
         
         for (int i = 0; i <= 20; i++) {
-            BigDecimal rate = startRate.add(BigDecimal.valueOf(i * 10));
-            BigDecimal cost = calculateTotalCost(input, rate);
-            BigDecimal margin = input.getSellingPriceKrw().subtract(cost);
-            BigDecimal marginRate = margin
-                    .divide(input.getSellingPriceKrw(), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-                    .setScale(2, RoundingMode.HALF_UP);
+            BigDecimal rate = startRate.add(step.multiply(BigDecimal.valueOf(i)));
+            
+            long marginRateBasis = kernel != null
+                    ? kernel.marginRateBasis(kernel.marginCents(kernel.costCents(CostKernel.toRate4(rate))))
+                    : CostKernel.UNSUPPORTED;
+            BigDecimal marginRate;
+            if (marginRateBasis != CostKernel.UNSUPPORTED) {
+                marginRate = CostKernel.percent(marginRateBasis);
+            } else {
+                BigDecimal margin = input.getSellingPriceKrw().subtract(calculateTotalCost(input, rate));
+                marginRate = calculateMarginRate(margin, input.getSellingPriceKrw());
+            }
             
             changes.add(MarginRateChange.builder()
                     .exchangeRate(rate)
@@ -272,6 +449,20 @@ public class ProfitLossAnalysisService {
         return changes;
     }
     
+    /**
+     * 시나리오 / 상태 평가 간격 (현재 환율의 약 1.5%)
+     */
+    private static BigDecimal scenarioStep(BigDecimal currentRate) {
+        return RateGrid.step(currentRate, SCENARIO_STEP_FRACTION);
+    }
+    
+    /**
+     * 환율 표시 통화 (바스켓도 원자재 통화 1단위당 원화)
+     */
+    private static String currencyOf(CompanyInputRequest input) {
+        return input.getMaterialCurrency() != null ? input.getMaterialCurrency() : "USD";
+    }
+    
     /**
      * 상세 원가 분석 계산
      */
@@ -303,10 +494,33 @@ public class ProfitLossAnalysisService {
                 .build();
     }
     
+    /**
+     * 총 원가 계산 (정수 커널 우선, 계산할 수 없으면 BigDecimal)
+     */
+    BigDecimal calculateTotalCost(CompanyInputRequest input, CostKernel kernel, BigDecimal exchangeRate) {
+        if (kernel != null) {
+            long costCents = kernel.costCents(CostKernel.toRate4(exchangeRate));
+            if (costCents != CostKernel.UNSUPPORTED) {
+                return CostKernel.money(costCents);
+            }
+        }
+        return calculateTotalCost(input, exchangeRate);
+    }
+    
+    /**
+     * 마진율 계산 (소수 4자리 비율 -> % 소수 2자리)
+     */
+    BigDecimal calculateMarginRate(BigDecimal margin, BigDecimal sellingPrice) {
+        return margin
+                .divide(sellingPrice, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+    
     /**
      * 총 원가 계산
      */
-    private BigDecimal calculateTotalCost(CompanyInputRequest input, BigDecimal exchangeRate) {
+    BigDecimal calculateTotalCost(CompanyInputRequest input, BigDecimal exchangeRate) {
         BigDecimal materialCostKrw = input.getMaterialCostUsd().multiply(exchangeRate);
         BigDecimal materialRatioDecimal = input.getMaterialRatio().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
         
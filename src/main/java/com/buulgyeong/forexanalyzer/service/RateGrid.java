@@ -0,0 +1,79 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * 환율 크기에 비례하는 분석 간격 / 표시 자릿수
+ *
+ * 통화 1단위당 원화 환율은 통화마다 자릿수가 크게 다르다 (USD 1,300원대, JPY 9원대, IDR 0.09원대).
+ * 시나리오 간격, 곡선 범위, 손익분기 환율 자릿수를 원 단위 고정값 대신 현재 환율 기준으로 정한다.
+ */
+final class RateGrid {
+
+    /** 손익분기/목표 환율 유효 자릿수 (USD는 기존과 같이 소수 2자리) */
+    private static final int SIGNIFICANT_DIGITS = 5;
+    private static final int MIN_SCALE = 2;
+
+    /** 메시지에 표시할 유효 자릿수 (100원 이상은 소수 1자리) */
+    private static final MathContext DISPLAY = new MathContext(4, RoundingMode.HALF_UP);
+
+    private RateGrid() {
+    }
+
+    /**
+     * 환율 * 비율에 가장 가까운 1, 2, 5 x 10^k 간격 (USD 1385 * 1.5% -> 20, JPY 9.47 * 1.5% -> 0.1)
+     */
+    static BigDecimal step(BigDecimal rate, double fraction) {
+        double raw = Math.abs(rate.doubleValue()) * fraction;
+        if (!(raw > 0) || Double.isInfinite(raw)) {
+            return BigDecimal.ONE;
+        }
+        int exponent = (int) Math.floor(Math.log10(raw));
+        double mantissa = raw / Math.pow(10, exponent);
+
+        // 로그 눈금에서 가장 가까운 값 (경계: sqrt(2), sqrt(10), sqrt(50))
+        int nice;
+        if (mantissa < 1.4142) {
+            nice = 1;
+        } else if (mantissa < 3.1623) {
+            nice = 2;
+        } else if (mantissa < 7.0711) {
+            nice = 5;
+        } else {
+            nice = 1;
+            exponent++;
+        }
+        return BigDecimal.valueOf(nice).movePointRight(exponent);
+    }
+
+    /**
+     * 환율 크기에 맞춘 소수 자릿수 (USD 2, JPY 4, IDR 6)
+     */
+    static int scale(double rate) {
+        double abs = Math.abs(rate);
+        if (!(abs > 0) || Double.isInfinite(abs)) {
+            return MIN_SCALE;
+        }
+        int magnitude = (int) Math.floor(Math.log10(abs));
+        return Math.max(MIN_SCALE, SIGNIFICANT_DIGITS - magnitude - 1);
+    }
+
+    /**
+     * 환율 크기에 맞춰 반올림
+     */
+    static BigDecimal round(BigDecimal rate) {
+        return rate.setScale(scale(rate.doubleValue()), RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 메시지 표시용 환율 문자열 (1385.24 -> "1385.2", 9.4712 -> "9.471")
+     */
+    static String format(BigDecimal rate) {
+        if (rate.abs().compareTo(BigDecimal.valueOf(100)) >= 0) {
+            return rate.setScale(1, RoundingMode.HALF_UP).toPlainString();
+        }
+        return rate.round(DISPLAY).stripTrailingZeros().toPlainString();
+    }
+}
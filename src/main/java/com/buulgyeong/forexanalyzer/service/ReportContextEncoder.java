@@ -0,0 +1,343 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 최종 리포트 프롬프트용 요약 컨텍스트 (compact JSON)
+ *
+ * 환율 응답과 손익 분석 전체를 그대로 넣는 대신 리포트가 쓰는 수치만 골라 짧은 키로 직렬화한다.
+ * - 30일 환율 추이: 최저/최고(날짜), 평균, 표준편차, 일별 기울기 + 최저/최고/처음/끝을 포함해 고르게 줄인 점
+ * - 마진율 곡선: 환율에 대해 선형이므로 양 끝점과 환율 1% 상승당 변화량만
+ * - 시나리오: 열 이름 한 번 + 값 배열
+ * - 원가 상세: 실시간 손익과 겹치는 값은 제외
+ *
+ * 환율 값은 현재 환율 크기에 맞춘 자릿수로 쓴다 (USD 소수 2자리, JPY 4자리, IDR 6자리).
+ * 키 순서와 반올림 자릿수가 고정되어 같은 입력이면 같은 문자열이 나온다.
+ * 추정 토큰 수가 예산을 넘으면 추이 점 수 → AI 문구 길이 → 시나리오 순으로 줄인다.
+ */
+@Component
+@Slf4j
+public class ReportContextEncoder {
+
+    /** 예산 초과 시 차례로 적용하는 축약 단계 */
+    private static final Level[] LEVELS = {
+            new Level(12, 200, true),
+            new Level(8, 120, true),
+            new Level(5, 0, true),
+            new Level(3, 0, false),
+            new Level(0, 0, false)
+    };
+
+    private static final List<String> SCENARIO_COLUMNS = List.of("rate", "cost", "margin", "margin%");
+
+    private final ObjectMapper objectMapper;
+    private final int tokenBudget;
+
+    public ReportContextEncoder(ObjectMapper objectMapper,
+                                @Value("${forex.report.context-token-budget:800}") int tokenBudget) {
+        this.objectMapper = objectMapper;
+        this.tokenBudget = tokenBudget;
+    }
+
+    /**
+     * 요약 컨텍스트 생성 (analysis가 null이면 환율 요약만)
+     */
+    public EncodedContext encode(ExchangeRateResponse ex, ProfitLossAnalysisResponse analysis) {
+        String json = "{}";
+        int tokens = 0;
+        for (int i = 0; i < LEVELS.length; i++) {
+            json = write(build(ex, analysis, LEVELS[i]));
+            tokens = TokenEstimator.estimate(json);
+            if (tokens <= tokenBudget) {
+                if (i > 0) {
+                    log.debug("리포트 컨텍스트 축약: level={}, tokens={}", i, tokens);
+                }
+                return new EncodedContext(json, tokens);
+            }
+        }
+        log.warn("리포트 컨텍스트가 토큰 예산을 초과함: tokens={}, budget={}", tokens, tokenBudget);
+        return new EncodedContext(json, tokens);
+    }
+
+    /**
+     * 요약 JSON과 추정 토큰 수
+     */
+    public record EncodedContext(String json, int estimatedTokens) {
+    }
+
+    private record Level(int trendPoints, int textChars, boolean scenarios) {
+    }
+
+    private Map<String, Object> build(ExchangeRateResponse ex, ProfitLossAnalysisResponse analysis, Level level) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        int rateScale = rateScale(ex, analysis);
+        if (ex != null) {
+            root.put("fx", exchangeRate(ex, level, rateScale));
+        }
+        if (analysis == null) {
+            return root;
+        }
+
+        ProfitLossAnalysisResponse.RealTimeProfitLoss pl = analysis.getRealTimeProfitLoss();
+        if (pl != null) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            put(m, "cost", num(pl.getCurrentCost(), 0));
+            put(m, "cost30d%", num(pl.getCostChangeRate30Day(), 2));
+            put(m, "margin", num(pl.getCurrentMargin(), 0));
+            put(m, "margin%", num(pl.getCurrentMarginRate(), 2));
+            put(m, "tgtMargin", num(pl.getTargetMargin(), 0));
+            put(m, "tgtMargin%", num(pl.getTargetMarginRate(), 2));
+            put(m, "gap", num(pl.getTargetGap(), 0));
+            m.put("hit", pl.isTargetAchieved());
+            root.put("pl", m);
+        }
+
+        ProfitLossAnalysisResponse.OrderTimingGuide timing = analysis.getOrderTimingGuide();
+        if (timing != null) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            put(m, "breakEven", num(timing.getBreakEvenExchangeRate(), rateScale));
+            put(m, "target", num(timing.getTargetExchangeRate(), rateScale));
+            root.put("timing", m);
+        }
+
+        ProfitLossAnalysisResponse.ExchangeRateStatus status = analysis.getExchangeRateStatus();
+        if (status != null) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            put(m, "level", status.getStatusLevel());
+            put(m, "pos%", num(status.getPosition(), 1));
+            if (status.getMinRange() != null && status.getMaxRange() != null) {
+                m.put("range", List.of(num(status.getMinRange(), rateScale), num(status.getMaxRange(), rateScale)));
+            }
+            put(m, "msg", truncate(status.getStatusMessage(), level.textChars()));
+            put(m, "aiEval", truncate(status.getAiEvaluation(), level.textChars()));
+            root.put("status", m);
+        }
+        put(root, "aiStrategy", truncate(analysis.getMonitoringStrategy(), level.textChars()));
+
+        List<ProfitLossAnalysisResponse.ScenarioAnalysis> scenarios = analysis.getScenarioAnalysisList();
+        if (level.scenarios() && scenarios != null && !scenarios.isEmpty()) {
+            List<List<Object>> rows = new ArrayList<>(scenarios.size());
+            Integer current = null;
+            for (ProfitLossAnalysisResponse.ScenarioAnalysis s : scenarios) {
+                if (s.isCurrent()) {
+                    current = rows.size();
+                }
+                rows.add(Arrays.asList(num(s.getExchangeRate(), gridScale(s.getExchangeRate())), num(s.getCost(), 0),
+                        num(s.getMargin(), 0), num(s.getMarginRate(), 2)));
+            }
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("cols", SCENARIO_COLUMNS);
+            m.put("rows", rows);
+            put(m, "cur", current);
+            root.put("scn", m);
+        }
+
+        List<ProfitLossAnalysisResponse.MarginRateChange> curve = analysis.getMarginRateChanges();
+        if (curve != null && curve.size() >= 2 && hasValues(curve.get(0)) && hasValues(curve.get(curve.size() - 1))) {
+            ProfitLossAnalysisResponse.MarginRateChange first = curve.get(0);
+            ProfitLossAnalysisResponse.MarginRateChange last = curve.get(curve.size() - 1);
+            double rateSpan = last.getExchangeRate().subtract(first.getExchangeRate()).doubleValue();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("n", curve.size());
+            m.put("from", List.of(num(first.getExchangeRate(), rateScale), num(first.getMarginRate(), 2)));
+            m.put("to", List.of(num(last.getExchangeRate(), rateScale), num(last.getMarginRate(), 2)));
+            if (rateSpan != 0) {
+                // 곡선 중앙 환율의 1%만큼 오를 때 마진율 변화 (%p)
+                double midRate = last.getExchangeRate().add(first.getExchangeRate()).doubleValue() / 2;
+                double slope = last.getMarginRate().subtract(first.getMarginRate()).doubleValue() / rateSpan * midRate / 100;
+                m.put("margin%Per1%", num(slope, 3));
+            }
+            root.put("curve", m);
+        }
+
+        ProfitLossAnalysisResponse.DetailedCostAnalysis cost = analysis.getDetailedCostAnalysis();
+        if (cost != null) {
+            // 총 원가/순 마진/적용 환율은 pl, fx와 같은 값이므로 생략
+            Map<String, Object> m = new LinkedHashMap<>();
+            put(m, "matUsd", num(cost.getMaterialCostUsd(), 2));
+            put(m, "matKrw", num(cost.getMaterialCostKrw(), 0));
+            put(m, "other", num(cost.getOtherCosts(), 0));
+            put(m, "sell", num(cost.getSellingPrice(), 0));
+            root.put("costs", m);
+        }
+        return root;
+    }
+
+    private Map<String, Object> exchangeRate(ExchangeRateResponse ex, Level level, int rateScale) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        put(m, "ccy", ex.getCurrencyCode());
+        put(m, "src", ex.getRateSource() != null ? ex.getRateSource().name() : null);
+        put(m, "asOf", ex.getLastUpdated() != null ? ex.getLastUpdated().toString() : null);
+        put(m, "now", num(ex.getCurrentRate(), rateScale));
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        put(changes, "1d", num(ex.getChangeRate1Day(), 2));
+        put(changes, "7d", num(ex.getChangeRate7Day(), 2));
+        put(changes, "30d", num(ex.getChangeRate30Day(), 2));
+        if (!changes.isEmpty()) {
+            m.put("chg%", changes);
+        }
+
+        List<ExchangeRateResponse.DailyRate> rates = ex.getLast30DaysRates();
+        if (rates != null && rates.size() >= 2) {
+            m.put("trend", trend(rates, level.trendPoints(), rateScale));
+        }
+        return m;
+    }
+
+    /**
+     * 추이 통계 + 줄인 점 (날짜는 MM-dd, 연도는 asOf 참고)
+     */
+    private Map<String, Object> trend(List<ExchangeRateResponse.DailyRate> rates, int points, int rateScale) {
+        int n = rates.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        int minIndex = 0;
+        int maxIndex = 0;
+        for (int i = 0; i < n; i++) {
+            x[i] = rates.get(i).getDate().toEpochDay();
+            y[i] = rates.get(i).getRate().doubleValue();
+            if (y[i] < y[minIndex]) minIndex = i;
+            if (y[i] > y[maxIndex]) maxIndex = i;
+        }
+
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+
+        double sxx = 0;
+        double sxy = 0;
+        double syy = 0;
+        for (int i = 0; i < n; i++) {
+            sxx += (x[i] - meanX) * (x[i] - meanX);
+            sxy += (x[i] - meanX) * (y[i] - meanY);
+            syy += (y[i] - meanY) * (y[i] - meanY);
+        }
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("n", n);
+        m.put("min", List.of(num(y[minIndex], rateScale), monthDay(rates.get(minIndex).getDate())));
+        m.put("max", List.of(num(y[maxIndex], rateScale), monthDay(rates.get(maxIndex).getDate())));
+        m.put("mean", num(meanY, rateScale));
+        m.put("sd", num(Math.sqrt(syy / (n - 1)), rateScale));
+        if (sxx > 0) {
+            m.put("slopePerDay", num(sxy / sxx, rateScale + 1));
+        }
+
+        if (points > 0) {
+            List<List<Object>> sampled = new ArrayList<>();
+            for (int i : sampleIndexes(n, points, minIndex, maxIndex)) {
+                sampled.add(List.of(monthDay(rates.get(i).getDate()), num(y[i], rateScale)));
+            }
+            m.put("pts", sampled);
+        }
+        return m;
+    }
+
+    /**
+     * 처음/끝을 포함해 고르게 고른 위치 + 최저/최고 위치 (오름차순)
+     */
+    private static TreeSet<Integer> sampleIndexes(int n, int points, int minIndex, int maxIndex) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        if (points >= n) {
+            for (int i = 0; i < n; i++) {
+                indexes.add(i);
+            }
+            return indexes;
+        }
+        int steps = Math.max(1, points - 1);
+        for (int k = 0; k <= steps; k++) {
+            indexes.add((int) Math.round((double) k * (n - 1) / steps));
+        }
+        indexes.add(minIndex);
+        indexes.add(maxIndex);
+        return indexes;
+    }
+
+    /**
+     * 환율 값 자릿수 (현재 환율 기준, 없으면 손익분기 환율 기준)
+     */
+    private static int rateScale(ExchangeRateResponse ex, ProfitLossAnalysisResponse analysis) {
+        if (ex != null && ex.getCurrentRate() != null) {
+            return RateGrid.scale(ex.getCurrentRate().doubleValue());
+        }
+        if (analysis != null && analysis.getOrderTimingGuide() != null
+                && analysis.getOrderTimingGuide().getBreakEvenExchangeRate() != null) {
+            return RateGrid.scale(analysis.getOrderTimingGuide().getBreakEvenExchangeRate().doubleValue());
+        }
+        return 2;
+    }
+
+    /**
+     * 시나리오 환율은 간격 단위 값이므로 필요한 자릿수만 (USD 1380 -> 0, JPY 9.4 -> 1)
+     */
+    private static int gridScale(BigDecimal rate) {
+        return rate != null ? Math.max(0, rate.stripTrailingZeros().scale()) : 0;
+    }
+
+    private static boolean hasValues(ProfitLossAnalysisResponse.MarginRateChange point) {
+        return point != null && point.getExchangeRate() != null && point.getMarginRate() != null;
+    }
+
+    private String write(Map<String, Object> root) {
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (Exception e) {
+            log.warn("리포트 컨텍스트 직렬화 실패: {}", e.getMessage());
+            return "{}";
+        }
+    }
+
+    private static void put(Map<String, Object> map, String key, Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+
+    private static String truncate(String text, int maxChars) {
+        if (text == null || text.isBlank() || maxChars <= 0) {
+            return null;
+        }
+        String trimmed = text.strip();
+        return trimmed.length() <= maxChars ? trimmed : trimmed.substring(0, maxChars) + "…";
+    }
+
+    private static String monthDay(LocalDate date) {
+        return date.toString().substring(5);
+    }
+
+    /**
+     * 고정 자릿수 반올림 (정수 자리면 long, 아니면 double로 써서 지수 표기를 피한다)
+     */
+    private static Number num(BigDecimal value, int scale) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal rounded = value.setScale(scale, RoundingMode.HALF_UP);
+        return scale == 0 ? (Number) rounded.longValue() : (Number) rounded.doubleValue();
+    }
+
+    private static Number num(double value, int scale) {
+        return Double.isFinite(value) ? num(BigDecimal.valueOf(value), scale) : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.ReportJobResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 최종 리포트 비동기 작업 큐
+ *
+ * 리포트 생성은 전용 실행기(큐 크기 제한)에서 수행되어 서블릿 스레드를 점유하지 않는다.
+ * 완료된 작업 결과는 result-ttl-ms 동안 보관 후 삭제된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobService {
+
+    private final FinalReportService finalReportService;
+
+    @Qualifier("reportTaskExecutor")
+    private final Executor reportTaskExecutor;
+
+    @Value("${forex.report.job.result-ttl-ms:1800000}")
+    private long resultTtlMs;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 리포트 작업 등록
+     *
+     * @throws RejectedExecutionException 작업 큐가 가득 찬 경우
+     */
+    public ReportJob submit(CompanyInputRequest input, ExchangeRateResponse exchangeRateInfo) {
+        ReportJob job = new ReportJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+
+        try {
+            reportTaskExecutor.execute(() -> run(job, input, exchangeRateInfo));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            log.warn("리포트 작업 큐 포화 - 작업 거절");
+            throw e;
+        }
+
+        return job;
+    }
+
+    public Optional<ReportJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .error(job.getError())
+                .build();
+    }
+
+    /**
+     * 보관 기간이 지난 완료 작업 정리
+     */
+    @Scheduled(fixedDelayString = "${forex.report.job.cleanup-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        Instant expiredBefore = Instant.now().minusMillis(resultTtlMs);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(expiredBefore));
+    }
+
+    private void run(ReportJob job, CompanyInputRequest input, ExchangeRateResponse exchangeRateInfo) {
+        job.markRunning();
+        try {
+            job.markCompleted(finalReportService.generateFinalReportForInput(input, exchangeRateInfo));
+        } catch (Exception e) {
+            log.error("리포트 작업 실패 ({}): {}", job.getId(), e.getMessage(), e);
+            job.markFailed(e.getMessage());
+        }
+    }
+}
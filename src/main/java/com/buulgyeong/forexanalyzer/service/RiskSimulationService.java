@@ -0,0 +1,226 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.RiskSimulationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 몬테카를로 환율 리스크 시뮬레이션
+ *
+ * 저장된 일별 환율 이력(원자재 통화 또는 통화 바스켓 합성 환율)의 로그 수익률로 drift / volatility를 추정하고,
+ * N개 경로를 일 단위로 진행시켜 기간 말 마진 분포와 손익분기점 돌파 확률을 구한다.
+ *
+ * - GBM: 일별 로그 수익률 ~ N(drift, volatility²)
+ * - BOOTSTRAP: 과거 일별 로그 수익률을 복원 추출
+ *
+ * 경로는 chunk 단위로 나눠 병렬 계산하며, chunk마다 SplittableRandom을 분할해 사용한다(seed 지정 시 재현 가능).
+ * 경로 반복문 안에서는 객체를 만들지 않고, 기간 말 환율만 미리 할당한 double[]에 기록한다.
+ * 마진은 환율에 대해 선형(원가 = 원자재 단가 / 원자재 비중 * 환율 + 기타 비용)이므로 분위는 환율 분위에서 바로 구한다.
+ */
+@Service
+@Slf4j
+public class RiskSimulationService {
+
+    public enum Model { GBM, BOOTSTRAP }
+
+    private static final double[] PERCENTILES = {5, 25, 50, 75, 95};
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ExchangeRateService exchangeRateService;
+    private final ProfitLossAnalysisService profitLossAnalysisService;
+    private final ForkJoinPool batchAnalysisPool;
+    private final int historyDays;
+    private final int maxPaths;
+    private final int maxHorizonDays;
+    private final double confidence;
+
+    public RiskSimulationService(
+            ExchangeRateService exchangeRateService,
+            ProfitLossAnalysisService profitLossAnalysisService,
+            @Qualifier("batchAnalysisPool") ForkJoinPool batchAnalysisPool,
+            @Value("${forex.risk.history-days:365}") int historyDays,
+            @Value("${forex.risk.max-paths:2000000}") int maxPaths,
+            @Value("${forex.risk.max-horizon-days:365}") int maxHorizonDays,
+            @Value("${forex.risk.confidence:0.95}") double confidence) {
+        this.exchangeRateService = exchangeRateService;
+        this.profitLossAnalysisService = profitLossAnalysisService;
+        this.batchAnalysisPool = batchAnalysisPool;
+        this.historyDays = historyDays;
+        this.maxPaths = maxPaths;
+        this.maxHorizonDays = maxHorizonDays;
+        this.confidence = confidence;
+    }
+
+    /**
+     * 리스크 시뮬레이션 수행
+     *
+     * @param seed null이면 매번 다른 난수
+     * @throws IllegalArgumentException 경로 수/기간이 범위를 벗어나거나 이력이 부족한 경우
+     */
+    public RiskSimulationResponse simulate(CompanyInputRequest input,
+                                           ExchangeRateResponse exchangeRateInfo,
+                                           Model model,
+                                           int paths,
+                                           int horizonDays,
+                                           Long seed) {
+        if (paths < 1 || paths > maxPaths) {
+            throw new IllegalArgumentException("paths는 1 이상 " + maxPaths + " 이하여야 합니다");
+        }
+        if (horizonDays < 1 || horizonDays > maxHorizonDays) {
+            throw new IllegalArgumentException("horizonDays는 1 이상 " + maxHorizonDays + " 이하여야 합니다");
+        }
+
+        double[] logReturns = logReturns(exchangeRateService.getRateSeries(input, historyDays));
+        if (logReturns.length < 2) {
+            throw new IllegalArgumentException("환율 이력이 부족해 변동성을 추정할 수 없습니다");
+        }
+        double drift = mean(logReturns);
+        double volatility = standardDeviation(logReturns, drift);
+
+        double currentRate = exchangeRateInfo.getCurrentRate().doubleValue();
+        double breakEvenRate = profitLossAnalysisService.analyzeDeterministic(input, exchangeRateInfo)
+                .getOrderTimingGuide().getBreakEvenExchangeRate().doubleValue();
+
+        // 마진 = marginIntercept - costSlope * 환율
+        BigDecimal materialRatioDecimal = input.getMaterialRatio().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        double costSlope = input.getMaterialCostUsd().doubleValue() / materialRatioDecimal.doubleValue();
+        double marginIntercept = input.getSellingPriceKrw().doubleValue() - input.getOtherCostsKrw().doubleValue();
+
+        long startedAt = System.nanoTime();
+
+        double[] terminalRates = new double[paths];
+        int chunks = Math.min(paths, batchAnalysisPool.getParallelism() * CHUNKS_PER_THREAD);
+        long[] breachedAtHorizon = new long[chunks];
+        long[] breachedAnyTime = new long[chunks];
+        double[] rateSums = new double[chunks];
+
+        // 난수 생성기는 chunk 순서대로 미리 분할해 두어 seed가 같으면 스레드 배치와 무관하게 결과가 같다
+        SplittableRandom root = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        // 손익분기점 환율이 0 이하면 (기타 비용만으로 적자) 모든 경로가 돌파로 집계된다
+        double breachLogLevel = breakEvenRate > 0 ? Math.log(breakEvenRate / currentRate) : Double.NEGATIVE_INFINITY;
+
+        batchAnalysisPool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = (int) ((long) paths * c / chunks);
+            int to = (int) ((long) paths * (c + 1) / chunks);
+            SplittableRandom random = randoms[c];
+            long atHorizon = 0;
+            long anyTime = 0;
+            double sum = 0;
+
+            for (int p = from; p < to; p++) {
+                double x = 0;
+                boolean touched = false;
+                for (int d = 0; d < horizonDays; d++) {
+                    x += model == Model.GBM
+                            ? drift + volatility * random.nextGaussian()
+                            : logReturns[random.nextInt(logReturns.length)];
+                    touched |= x > breachLogLevel;
+                }
+                double rate = currentRate * Math.exp(x);
+                terminalRates[p] = rate;
+                sum += rate;
+                if (x > breachLogLevel) atHorizon++;
+                if (touched) anyTime++;
+            }
+
+            breachedAtHorizon[c] = atHorizon;
+            breachedAnyTime[c] = anyTime;
+            rateSums[c] = sum;
+        })).join();
+
+        Arrays.parallelSort(terminalRates);
+
+        double[] rateBands = new double[PERCENTILES.length];
+        double[] marginBands = new double[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            rateBands[i] = round2(quantile(terminalRates, PERCENTILES[i] / 100.0));
+            // 마진은 환율이 오를수록 줄어들므로 하위 p 분위 마진 = 상위 p 분위 환율에서의 마진
+            marginBands[i] = Math.rint(marginIntercept - costSlope * quantile(terminalRates, 1 - PERCENTILES[i] / 100.0));
+        }
+
+        double currentMargin = marginIntercept - costSlope * currentRate;
+        double expectedRate = Arrays.stream(rateSums).sum() / paths;
+        double worstMargin = marginIntercept - costSlope * quantile(terminalRates, confidence);
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        log.info("리스크 시뮬레이션 완료: model={}, paths={}, horizon={}일, {}ms", model, paths, horizonDays, elapsedMs);
+
+        return RiskSimulationResponse.builder()
+                .model(model.name())
+                .paths(paths)
+                .horizonDays(horizonDays)
+                .observations(logReturns.length)
+                .dailyDrift(drift)
+                .dailyVolatility(volatility)
+                .currentRate(currentRate)
+                .breakEvenRate(breakEvenRate)
+                .currentMargin(Math.rint(currentMargin))
+                .expectedMargin(Math.rint(marginIntercept - costSlope * expectedRate))
+                .confidence(confidence)
+                .marginAtRisk(Math.rint(Math.max(0, currentMargin - worstMargin)))
+                .breachProbabilityAtHorizon((double) Arrays.stream(breachedAtHorizon).sum() / paths)
+                .breachProbabilityAnyTime((double) Arrays.stream(breachedAnyTime).sum() / paths)
+                .percentiles(PERCENTILES.clone())
+                .rateBands(rateBands)
+                .marginBands(marginBands)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private static double[] logReturns(double[] rates) {
+        if (rates.length < 2) {
+            return new double[0];
+        }
+        double[] returns = new double[rates.length - 1];
+        for (int i = 1; i < rates.length; i++) {
+            returns[i - 1] = Math.log(rates[i] / rates[i - 1]);
+        }
+        return returns;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+
+    private static double standardDeviation(double[] values, double mean) {
+        double sumSquares = 0;
+        for (double v : values) {
+            sumSquares += (v - mean) * (v - mean);
+        }
+        return Math.sqrt(sumSquares / (values.length - 1));
+    }
+
+    /**
+     * 정렬된 배열의 분위값 (선형 보간)
+     */
+    private static double quantile(double[] sorted, double q) {
+        double position = q * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+    }
+
+    private static double round2(double value) {
+        return Math.rint(value * 100.0) / 100.0;
+    }
+}
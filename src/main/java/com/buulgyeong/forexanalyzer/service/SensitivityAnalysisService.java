@@ -0,0 +1,116 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.SensitivityCurveResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 환율 민감도 곡선 계산
+ *
+ * 원가는 환율에 대해 선형이다: 원가 = 원자재 단가(USD) / 원자재 비중 * 환율 + 기타 비용.
+ * 기울기와 절편을 한 번 구한 뒤 모든 점을 같은 식으로 한 번의 반복문에서 계산한다.
+ * 중간 반올림이 없는 연속 모델이므로 표 형식 분석(소수 2자리 원가 반올림)과 1원 미만 차이가 날 수 있다.
+ */
+@Service
+public class SensitivityAnalysisService {
+
+    private static final int DEFAULT_POINTS = 201;
+    private static final double DEFAULT_HALF_RANGE_FRACTION = 0.075; // 현재 환율의 ±7.5% (USD 약 ±100원)
+
+    private final int maxPoints;
+
+    public SensitivityAnalysisService(@Value("${forex.sensitivity.max-points:10000}") int maxPoints) {
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * 민감도 곡선 계산
+     *
+     * from/to를 생략하면 현재 환율 ±7.5%. step과 points 중 하나를 지정하며, 둘 다 생략하면 201개 점.
+     * 환율은 0보다 커야 하며, 환율/손익분기 환율은 환율 크기에 맞춘 자릿수로 반올림한다 (USD 2, JPY 4, IDR 6).
+     *
+     * @throws IllegalArgumentException 범위/간격/점 개수가 잘못된 경우
+     */
+    public SensitivityCurveResponse calculate(CompanyInputRequest input,
+                                              BigDecimal currentRate,
+                                              Double from,
+                                              Double to,
+                                              Double step,
+                                              Integer points) {
+        double current = currentRate.doubleValue();
+        double halfRange = current * DEFAULT_HALF_RANGE_FRACTION;
+        double start = from != null ? from : current - halfRange;
+        double end = to != null ? to : current + halfRange;
+        if (!(start > 0)) {
+            throw new IllegalArgumentException("from은 0보다 커야 합니다");
+        }
+        if (!(end > start)) {
+            throw new IllegalArgumentException("to는 from보다 커야 합니다");
+        }
+        if (step != null && points != null) {
+            throw new IllegalArgumentException("step과 points는 함께 지정할 수 없습니다");
+        }
+
+        int n;
+        double interval;
+        if (step != null) {
+            if (!(step > 0)) {
+                throw new IllegalArgumentException("step은 0보다 커야 합니다");
+            }
+            double count = Math.floor((end - start) / step + 1e-9) + 1;
+            if (count > maxPoints) {
+                throw new IllegalArgumentException("점 개수는 " + maxPoints + "개 이하여야 합니다");
+            }
+            n = (int) count;
+            interval = step;
+        } else {
+            n = points != null ? points : DEFAULT_POINTS;
+            if (n < 2 || n > maxPoints) {
+                throw new IllegalArgumentException("points는 2 이상 " + maxPoints + " 이하여야 합니다");
+            }
+            interval = (end - start) / (n - 1);
+        }
+
+        // 원자재 비중은 표 형식 분석과 같이 소수 4자리로 반올림해 사용
+        BigDecimal materialRatioDecimal = input.getMaterialRatio().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        double costSlope = input.getMaterialCostUsd().doubleValue() / materialRatioDecimal.doubleValue();
+        double costIntercept = input.getOtherCostsKrw().doubleValue();
+        double sellingPrice = input.getSellingPriceKrw().doubleValue();
+
+        // 마진 = (납품 단가 - 기타 비용) - 기울기 * 환율, 마진율 = 마진 / 납품 단가 * 100
+        double marginIntercept = sellingPrice - costIntercept;
+        double marginRateIntercept = marginIntercept / sellingPrice * 100.0;
+        double marginRateSlope = costSlope / sellingPrice * 100.0;
+
+        double rateFactor = Math.pow(10, RateGrid.scale(current));
+
+        double[] rates = new double[n];
+        double[] costs = new double[n];
+        double[] margins = new double[n];
+        double[] marginRates = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            double rate = start + interval * i;
+            rates[i] = Math.rint(rate * rateFactor) / rateFactor;
+            costs[i] = Math.rint(costIntercept + costSlope * rate);
+            margins[i] = Math.rint(marginIntercept - costSlope * rate);
+            marginRates[i] = Math.rint((marginRateIntercept - marginRateSlope * rate) * 100.0) / 100.0;
+        }
+
+        return SensitivityCurveResponse.builder()
+                .currentRate(current)
+                .breakEvenRate(Math.rint(marginIntercept / costSlope * rateFactor) / rateFactor)
+                .costSlope(costSlope)
+                .costIntercept(costIntercept)
+                .points(n)
+                .exchangeRates(rates)
+                .costs(costs)
+                .margins(margins)
+                .marginRates(marginRates)
+                .build();
+    }
+}
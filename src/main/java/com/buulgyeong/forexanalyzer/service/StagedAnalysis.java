@@ -0,0 +1,31 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 결정적 계산은 끝났고 AI 결과는 아직 진행 중인 손익 분석
+ *
+ * response의 aiEvaluation / monitoringStrategy는 비어 있으며, 각 future가 완료되면 채워진다.
+ * 두 future는 실패하지 않는다 (실패/시간 초과 시 기본 메시지로 완료).
+ */
+@Getter
+@RequiredArgsConstructor
+public class StagedAnalysis {
+
+    private final ProfitLossAnalysisResponse response;
+    private final CompletableFuture<String> aiEvaluation;
+    private final CompletableFuture<String> monitoringStrategy;
+
+    /**
+     * AI 결과까지 기다려 완성된 응답 반환
+     */
+    public ProfitLossAnalysisResponse join() {
+        response.getExchangeRateStatus().setAiEvaluation(aiEvaluation.join());
+        response.setMonitoringStrategy(monitoringStrategy.join());
+        return response;
+    }
+}
@@ -0,0 +1,32 @@
+package com.buulgyeong.forexanalyzer.service;
+
+/**
+ * LLM 입력 토큰 수 추정
+ *
+ * 토크나이저를 쓰지 않는 보수적인 근사치다.
+ * ASCII(영문, 숫자, JSON 기호)는 4자당 1토큰, 한글 등 그 외 문자는 1자당 1토큰으로 센다.
+ */
+public final class TokenEstimator {
+
+    private static final int ASCII_CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                ascii++;
+            } else if (!Character.isLowSurrogate(c)) {
+                other++;
+            }
+        }
+        return (ascii + ASCII_CHARS_PER_TOKEN - 1) / ASCII_CHARS_PER_TOKEN + other;
+    }
+}
@@ -0,0 +1,22 @@
+-- 기업 입력값
+CREATE TABLE company_input (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    material_cost_usd  NUMERIC(15, 2) NOT NULL,
+    material_ratio     NUMERIC(5, 2)  NOT NULL,
+    selling_price_krw  NUMERIC(15, 2) NOT NULL,
+    target_margin_rate NUMERIC(5, 2)  NOT NULL,
+    other_costs_krw    NUMERIC(15, 2) NOT NULL,
+    session_id         VARCHAR(255),
+    created_at         TIMESTAMP(6)   NOT NULL,
+    updated_at         TIMESTAMP(6)   NOT NULL
+);
+
+-- 통화별 일별 환율 이력 (통화 + 날짜당 1건, 통화별 기간 조회는 유니크 인덱스를 그대로 사용)
+CREATE TABLE exchange_rate_history (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    rate_date     DATE           NOT NULL,
+    rate          NUMERIC(14, 4) NOT NULL,
+    currency_code VARCHAR(3)     NOT NULL,
+    created_at    TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT uk_exchange_rate_history_currency_date UNIQUE (currency_code, rate_date)
+);
@@ -0,0 +1,8 @@
+-- 환율 이력 id를 IDENTITY에서 시퀀스로 전환한다 (JDBC batch MERGE가 행마다 NEXT VALUE FOR로 id를 받음).
+-- 행마다 하나씩 받으므로 1씩 증가하며, 시퀀스는 기존 최대 id 다음 값부터 시작한다.
+ALTER TABLE exchange_rate_history ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE exchange_rate_history_seq START WITH 1 INCREMENT BY 1;
+
+ALTER SEQUENCE exchange_rate_history_seq
+    RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM exchange_rate_history);
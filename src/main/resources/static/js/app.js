@@ -164,10 +164,11 @@ async function performAnalysis(formData) {
     window.lastFormData = formData;
 
     try {
-        const response = await fetch('/api/analyze', {
+        const response = await fetch('/api/analyze/stream', {
             method: 'POST',
             headers: {
-                'Content-Type': 'application/json'
+                'Content-Type': 'application/json',
+                'Accept': 'text/event-stream'
             },
             body: JSON.stringify(formData)
         });
@@ -179,14 +180,24 @@ async function performAnalysis(formData) {
             throw new Error('분석 요청 실패');
         }
 
-        const data = await response.json();
-        updateAnalysisResults(data);
+        // 1단계: 결정적 분석 결과 즉시 표시, 2단계: AI 결과는 도착하는 대로 채움
+        await readEventStream(response, function(name, data) {
+            if (name === 'analysis') {
+                updateAnalysisResults(JSON.parse(data));
 
-        // Show analysis section
-        document.getElementById('analysisResults').classList.remove('hidden');
+                // Show analysis section
+                document.getElementById('analysisResults').classList.remove('hidden');
 
-        // Scroll to results
-        document.getElementById('analysisResults').scrollIntoView({ behavior: 'smooth' });
+                // Scroll to results
+                document.getElementById('analysisResults').scrollIntoView({ behavior: 'smooth' });
+
+                hideLoading();
+            } else if (name === 'aiEvaluation') {
+                document.getElementById('aiEvaluation').textContent = data;
+            } else if (name === 'monitoringStrategy') {
+                document.getElementById('monitoringStrategy').textContent = data;
+            }
+        });
 
     } catch (error) {
         console.error('Analysis error:', error);
@@ -196,6 +207,44 @@ async function performAnalysis(formData) {
     }
 }
 
+// Server-Sent Events 응답(fetch) 읽기: 이벤트마다 onEvent(name, data) 호출
+async function readEventStream(response, onEvent) {
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+
+    while (true) {
+        const { value, done } = await reader.read();
+        if (done) break;
+
+        buffer += decoder.decode(value, { stream: true }).replace(/\r/g, '');
+
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+            const rawEvent = buffer.slice(0, boundary);
+            buffer = buffer.slice(boundary + 2);
+            handleRawEvent(rawEvent);
+        }
+    }
+
+    function handleRawEvent(rawEvent) {
+        let name = 'message';
+        const dataLines = [];
+
+        rawEvent.split('\n').forEach(line => {
+            if (line.startsWith('event:')) {
+                name = line.slice(6).trim();
+            } else if (line.startsWith('data:')) {
+                dataLines.push(line.slice(5).replace(/^ /, ''));
+            }
+        });
+
+        if (dataLines.length > 0) {
+            onEvent(name, dataLines.join('\n'));
+        }
+    }
+}
+
 function updateAnalysisResults(data) {
     // Real-time Profit/Loss
     const pl = data.realTimeProfitLoss;
@@ -233,10 +282,10 @@ function updateAnalysisResults(data) {
     statusBadge.className = 'status-badge ' + status.statusLevel;
 
     document.getElementById('statusMessage').textContent = '현재 환율: ' + formatRate(status.currentRate);
-    document.getElementById('aiEvaluation').textContent = status.aiEvaluation;
+    document.getElementById('aiEvaluation').textContent = status.aiEvaluation || 'AI 평가를 생성하고 있습니다...';
 
     // Monitoring Strategy
-    document.getElementById('monitoringStrategy').textContent = data.monitoringStrategy;
+    document.getElementById('monitoringStrategy').textContent = data.monitoringStrategy || 'AI 모니터링 전략을 생성하고 있습니다...';
 
     // Scenario Analysis Chart
     updateScenarioChart(data.scenarioAnalysisList);
@@ -500,50 +549,69 @@ function hideLoading() {
         }
     }
 
-    // 실제 AI 리포트 생성 요청 — /api/report/final 호출
+    // 실제 AI 리포트 생성 요청 — /api/report/final/stream 호출 (생성되는 대로 표시)
     async function generateFinalReport(formData) {
         // 재사용: 페이지에 이미 showLoading/hideLoading가 있으면 그대로 사용
         if (typeof showLoading === 'function') showLoading();
         else document.getElementById('loadingOverlay')?.classList.remove('hidden');
 
+        const stopLoading = function() {
+            if (typeof hideLoading === 'function') hideLoading();
+            else document.getElementById('loadingOverlay')?.classList.add('hidden');
+        };
+
         try {
-            const res = await fetch('/api/report/final', {
+            const res = await fetch('/api/report/final/stream', {
                 method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
+                headers: { 'Content-Type': 'application/json', 'Accept': 'text/event-stream' },
                 body: JSON.stringify(formData)
             });
             if (!res.ok) throw new Error('AI 리포트 생성 실패');
 
-            const payload = await res.json();
-            const md = payload.reportMarkdown || payload.report || '';
-
-            // marked가 로드되어 있는지 확인 (index.html에 CDN 포함 권장)
-            const html = (typeof marked === 'function') ? marked.parse(md || 'AI가 리포트를 생성하지 못했습니다.') : (md || 'AI 리포트를 생성하지 못했습니다.');
-
             const reportEl = document.getElementById('finalReport');
-            if (reportEl) {
-                reportEl.innerHTML = html;
-                // 활성화: 다운로드 버튼
-                const dlBtnLocal = document.getElementById('downloadReportBtn');
-                if (dlBtnLocal) dlBtnLocal.disabled = false;
-            }
+            const container = document.getElementById('finalReportContainer');
+            let md = '';
+
+            await readEventStream(res, function(name, data) {
+                if (name === 'delta') {
+                    // 첫 조각이 도착하면 로딩 해제 후 리포트 영역으로 이동
+                    if (md === '') {
+                        stopLoading();
+                        if (container) container.classList.remove('hidden');
+                        container?.scrollIntoView({ behavior: 'smooth' });
+                    }
+                    md += JSON.parse(data).text;
+                    renderReport(reportEl, md);
+                } else if (name === 'report') {
+                    const payload = JSON.parse(data);
+                    md = payload.reportMarkdown || payload.report || md;
+                    renderReport(reportEl, md);
+
+                    // 활성화: 다운로드 버튼
+                    const dlBtnLocal = document.getElementById('downloadReportBtn');
+                    if (dlBtnLocal) dlBtnLocal.disabled = false;
+                }
+            });
 
             // 보이게 하기 (analysisResults 안에 있으므로 기존 레이아웃 유지)
-            const container = document.getElementById('finalReportContainer');
             if (container) container.classList.remove('hidden');
 
-            // 스크롤로 리포트로 이동 (선택)
-            container?.scrollIntoView({ behavior: 'smooth' });
-
         } catch (err) {
             console.error('AI report error', err);
             alert('AI 리포트 생성 중 오류가 발생했습니다. 콘솔을 확인해 주세요.');
         } finally {
-            if (typeof hideLoading === 'function') hideLoading();
-            else document.getElementById('loadingOverlay')?.classList.add('hidden');
+            stopLoading();
         }
     }
 
+    function renderReport(reportEl, md) {
+        if (!reportEl) return;
+        // marked가 로드되어 있는지 확인 (index.html에 CDN 포함 권장)
+        reportEl.innerHTML = (typeof marked === 'function' || typeof marked === 'object')
+            ? marked.parse(md || 'AI가 리포트를 생성하지 못했습니다.')
+            : (md || 'AI 리포트를 생성하지 못했습니다.');
+    }
+
 //    // PDF로 다운로드
 //    function downloadTextAsFile(text, filename) {
 //        const element = document.getElementById('finalReport');
@@ -0,0 +1,119 @@
+package com.buulgyeong.forexanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmResponseCacheTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    void storedValueIsServedUntilTtlExpires() throws InterruptedException {
+        LlmResponseCache cache = new LlmResponseCache(10, 20);
+        cache.put("k", "평가");
+
+        assertThat(cache.get("k")).isEqualTo("평가");
+
+        Thread.sleep(40);
+
+        assertThat(cache.get("k")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedFirst() {
+        LlmResponseCache cache = new LlmResponseCache(2, HOUR);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+
+        cache.put("c", "3");
+
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void statsCountHitsMissesAndEvictions() {
+        LlmResponseCache cache = new LlmResponseCache(1, HOUR);
+        cache.get("a");
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("a");
+        cache.put("b", "2");
+
+        LlmResponseCache.Stats stats = cache.stats();
+
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.evictions()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoadAndStoreTheResult() {
+        LlmResponseCache cache = new LlmResponseCache(10, HOUR);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            callers.add(cache.load("k", () -> {
+                loads.incrementAndGet();
+                return Mono.fromFuture(upstream);
+            }).toFuture());
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.inFlightCount()).isEqualTo(1);
+
+        upstream.complete("평가");
+
+        assertThat(callers).allSatisfy(f -> assertThat(f.join()).isEqualTo("평가"));
+        assertThat(cache.inFlightCount()).isZero();
+        assertThat(cache.stats().joined()).isEqualTo(9);
+        assertThat(cache.get("k")).isEqualTo("평가");
+    }
+
+    @Test
+    void failedLoadIsNotStored() {
+        LlmResponseCache cache = new LlmResponseCache(10, HOUR);
+
+        assertThatThrownBy(() -> cache.load("k", () -> Mono.<String>error(new IllegalStateException("down"))).block())
+                .hasMessageContaining("down");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.inFlightCount()).isZero();
+
+        assertThat(cache.load("k", () -> Mono.just("평가")).block()).isEqualTo("평가");
+    }
+
+    @Test
+    void joinSharesTheCallWithoutStoringIt() {
+        LlmResponseCache cache = new LlmResponseCache(10, HOUR);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.join("insights", () -> {
+            loads.incrementAndGet();
+            return Mono.fromFuture(upstream);
+        }).toFuture();
+        CompletableFuture<String> second = cache.join("insights", () -> Mono.just("다른 응답")).toFuture();
+        upstream.complete("{}");
+
+        assertThat(first.join()).isEqualTo("{}");
+        assertThat(second.join()).isEqualTo("{}");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.size()).isZero();
+    }
+}
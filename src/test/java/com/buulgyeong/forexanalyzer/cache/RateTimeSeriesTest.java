@@ -0,0 +1,85 @@
+package com.buulgyeong.forexanalyzer.cache;
+
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateTimeSeriesTest {
+
+    // 금요일, 월요일, 화요일 관측 (주말 없음)
+    private static final LocalDate FRIDAY = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate TUESDAY = LocalDate.of(2024, 3, 5);
+
+    private final RateTimeSeries series = RateTimeSeries.of(4, Map.of(
+            TUESDAY, new BigDecimal("1383.25"),
+            FRIDAY, new BigDecimal("1380.5"),
+            MONDAY, new BigDecimal("1381")));
+
+    @Test
+    void observationsAreSortedRegardlessOfInputOrder() {
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.firstDate()).isEqualTo(FRIDAY);
+        assertThat(series.lastDate()).isEqualTo(TUESDAY);
+        assertThat(series.lastRate()).isEqualTo(new BigDecimal("1383.2500"));
+    }
+
+    @Test
+    void rateOnReturnsOnlyObservedDates() {
+        assertThat(series.rateOn(MONDAY)).isEqualByComparingTo("1381");
+        assertThat(series.rateOn(FRIDAY.plusDays(1))).isNull();
+        assertThat(series.rateOn(FRIDAY.minusDays(1))).isNull();
+    }
+
+    @Test
+    void rateOnOrBeforeCarriesTheLastObservationForward() {
+        assertThat(series.rateOnOrBefore(FRIDAY.plusDays(1))).isEqualByComparingTo("1380.5");
+        assertThat(series.rateOnOrBefore(FRIDAY.plusDays(2))).isEqualByComparingTo("1380.5");
+        assertThat(series.rateOnOrBefore(MONDAY)).isEqualByComparingTo("1381");
+        assertThat(series.rateOnOrBefore(TUESDAY.plusDays(30))).isEqualByComparingTo("1383.25");
+        assertThat(series.rateOnOrBefore(FRIDAY.minusDays(1))).isNull();
+        assertThat(RateTimeSeries.empty(4).rateOnOrBefore(MONDAY)).isNull();
+    }
+
+    @Test
+    void sliceIncludesBothEndsAndOnlyObservedDates() {
+        assertThat(series.slice(FRIDAY, MONDAY))
+                .extracting(ExchangeRateResponse.DailyRate::getDate)
+                .containsExactly(FRIDAY, MONDAY);
+        assertThat(series.slice(FRIDAY.plusDays(1), FRIDAY.plusDays(2))).isEmpty();
+        assertThat(series.slice(FRIDAY.minusDays(10), TUESDAY.plusDays(10))).hasSize(3);
+        assertThat(series.slice(TUESDAY.plusDays(1), TUESDAY.plusDays(5))).isEmpty();
+        assertThat(series.slice(LocalDate.MIN, LocalDate.MAX)).hasSize(3);
+    }
+
+    @Test
+    void mergeAppendsOrReplacesWithoutChangingTheOriginal() {
+        RateTimeSeries appended = series.merge(Map.of(TUESDAY.plusDays(1), new BigDecimal("1390")));
+        RateTimeSeries replaced = series.merge(Map.of(
+                MONDAY, new BigDecimal("1379"),
+                FRIDAY.plusDays(1), new BigDecimal("1380.75")));
+
+        assertThat(appended.size()).isEqualTo(4);
+        assertThat(appended.lastRate()).isEqualByComparingTo("1390");
+
+        assertThat(replaced.size()).isEqualTo(4);
+        assertThat(replaced.rateOn(MONDAY)).isEqualByComparingTo("1379");
+        assertThat(replaced.rateOnOrBefore(FRIDAY.plusDays(2))).isEqualByComparingTo("1380.75");
+
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.rateOn(MONDAY)).isEqualByComparingTo("1381");
+        assertThat(series.merge(Map.of())).isSameAs(series);
+    }
+
+    @Test
+    void ratesAreRoundedToTheSeriesScale() {
+        RateTimeSeries jpy = RateTimeSeries.of(4, Map.of(MONDAY, new BigDecimal("9.47125")));
+
+        assertThat(jpy.rateOn(MONDAY)).isEqualTo(new BigDecimal("9.4713"));
+    }
+}
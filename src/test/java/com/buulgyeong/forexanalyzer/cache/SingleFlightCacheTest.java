@@ -0,0 +1,127 @@
+package com.buulgyeong.forexanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Test
+    void concurrentCallersShareOneInFlightLoad() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(HOUR, HOUR, 10);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Integer> upstream = new CompletableFuture<>();
+
+        List<CompletableFuture<Integer>> callers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            callers.add(cache.get("spot", () -> {
+                loads.incrementAndGet();
+                return Mono.fromFuture(upstream);
+            }).toFuture());
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.inFlightCount()).isEqualTo(1);
+
+        upstream.complete(1380);
+
+        assertThat(callers).allSatisfy(f -> assertThat(f.join()).isEqualTo(1380));
+        assertThat(cache.inFlightCount()).isZero();
+        assertThat(cache.stats().joined()).isEqualTo(19);
+    }
+
+    @Test
+    void freshValueIsServedWithoutReloading() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(HOUR, HOUR, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("k", () -> Mono.just(loads.incrementAndGet())).block()).isEqualTo(1);
+        assertThat(cache.get("k", () -> Mono.just(loads.incrementAndGet())).block()).isEqualTo(1);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().freshHits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void staleValueIsServedWhileOneBackgroundReloadRuns() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(Duration.ZERO, HOUR, 10);
+        cache.get("k", () -> Mono.just(1)).block();
+
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Integer> upstream = new CompletableFuture<>();
+        for (int i = 0; i < 5; i++) {
+            Integer value = cache.get("k", () -> {
+                loads.incrementAndGet();
+                return Mono.fromFuture(upstream);
+            }).block();
+            assertThat(value).isEqualTo(1);
+        }
+        assertThat(loads).hasValue(1);
+
+        upstream.complete(2);
+        assertThat(cache.get("k", () -> Mono.just(3)).block()).isEqualTo(2);
+        assertThat(cache.stats().staleHits()).isEqualTo(6);
+    }
+
+    @Test
+    void expiredValueIsReloaded() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(Duration.ZERO, Duration.ZERO, 10);
+        cache.get("k", () -> Mono.just(1)).block();
+
+        assertThat(cache.get("k", () -> Mono.just(2)).block()).isEqualTo(2);
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(HOUR, HOUR, 10);
+
+        assertThatThrownBy(() -> cache.get("k", () -> Mono.<Integer>error(new IllegalStateException("down"))).block())
+                .hasMessageContaining("down");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.inFlightCount()).isZero();
+
+        assertThat(cache.get("k", () -> Mono.just(7)).block()).isEqualTo(7);
+    }
+
+    @Test
+    void sizeIsBoundedByMaxEntriesDroppingOldestLoads() {
+        SingleFlightCache<Integer, Integer> cache = new SingleFlightCache<>(HOUR, HOUR, 3);
+        for (int i = 0; i < 10; i++) {
+            int key = i;
+            cache.get(key, () -> Mono.just(key)).block();
+        }
+
+        assertThat(cache.size()).isEqualTo(3);
+
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(cache.get(9, () -> Mono.just(loads.incrementAndGet())).block()).isEqualTo(9);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void expiredEntriesAreSweptOnLaterLoads() throws InterruptedException {
+        SingleFlightCache<Integer, Integer> cache =
+                new SingleFlightCache<>(Duration.ofMillis(1), Duration.ofMillis(1), 100);
+        for (int i = 0; i < 10; i++) {
+            int key = i;
+            cache.get(key, () -> Mono.just(key)).block();
+        }
+
+        Thread.sleep(20);
+        cache.get(100, () -> Mono.just(100)).block();
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
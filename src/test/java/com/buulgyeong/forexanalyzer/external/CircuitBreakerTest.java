@@ -0,0 +1,100 @@
+package com.buulgyeong.forexanalyzer.external;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private static final Duration LONG = Duration.ofHours(1);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndSkipsCalls() {
+        CircuitBreaker breaker = new CircuitBreaker("TEST", 3, LONG, LONG, 10);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("down"));
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> breaker.protect(failing).block()).hasMessageContaining("down");
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> breaker.protect(failing).block()).isInstanceOf(CircuitBreaker.OpenException.class);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker("TEST", 2, LONG, LONG, 10);
+
+        fail(breaker);
+        breaker.protect(Mono.just("ok")).block();
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void timeoutCountsAsFailure() {
+        CircuitBreaker breaker = new CircuitBreaker("TEST", 1, LONG, Duration.ofMillis(20), 10);
+
+        assertThatThrownBy(() -> breaker.protect(Mono.never()).block()).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenAllowsOneProbeAndClosesOnSuccess() {
+        CircuitBreaker breaker = new CircuitBreaker("TEST", 1, Duration.ZERO, LONG, 10);
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Disposable probe = breaker.protect(Mono.never()).subscribe();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(() -> breaker.protect(Mono.just("second")).block())
+                .isInstanceOf(CircuitBreaker.OpenException.class);
+
+        // 취소된 시험 호출은 집계하지 않고 다음 시험 호출을 허용
+        probe.dispose();
+        assertThat(breaker.protect(Mono.just("ok")).block()).isEqualTo("ok");
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopens() {
+        CircuitBreaker breaker = new CircuitBreaker("TEST", 1, Duration.ZERO, LONG, 10);
+        fail(breaker);
+
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void p95LatencyUsesRecentSuccessesOnly() {
+        CircuitBreaker breaker = new CircuitBreaker("TEST", 5, LONG, LONG, 20);
+        assertThat(breaker.p95Latency()).isEmpty();
+
+        for (int i = 0; i < 20; i++) {
+            breaker.protect(Mono.just(i)).block();
+        }
+        fail(breaker);
+
+        assertThat(breaker.p95Latency()).isPresent();
+        assertThat(breaker.p95Latency().get()).isLessThan(Duration.ofSeconds(1));
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        assertThatThrownBy(() -> breaker.protect(Mono.error(new IllegalStateException("down"))).block())
+                .isInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.buulgyeong.forexanalyzer.external;
+
+import com.buulgyeong.forexanalyzer.dto.HistoricalRate;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeRateApiClientBackfillTest {
+
+    private static final DateTimeFormatter SEARCH_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String PUBLISHED = """
+            [{"result":1,"cur_unit":"USD","deal_bas_r":"1,380.5"},{"result":1,"cur_unit":"JPY(100)","deal_bas_r":"950.12"}]
+            """;
+    private static final String DAILY_LIMIT_EXCEEDED = """
+            [{"result":4}]
+            """;
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate FRIDAY = LocalDate.of(2024, 3, 8);
+    private static final LocalDate HOLIDAY = LocalDate.of(2024, 3, 6);
+
+    private final Set<LocalDate> failing = ConcurrentHashMap.newKeySet();
+    private final Set<LocalDate> rejected = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void publishedRangeContainsOnlyDatesTheUpstreamReturned() {
+        Map<String, List<HistoricalRate>> published = client()
+                .fetchPublishedRangeAllCurrenciesAsync(MONDAY, FRIDAY).block();
+
+        assertThat(published).containsOnlyKeys("USD", "JPY");
+        assertThat(published.get("USD"))
+                .extracting(HistoricalRate::getDate)
+                .allSatisfy(date -> assertThat(date.getDayOfWeek().getValue()).isLessThanOrEqualTo(5))
+                .doesNotContain(HOLIDAY)
+                .contains(MONDAY, FRIDAY, MONDAY.minusDays(3));
+        assertThat(published.get("USD"))
+                .extracting(HistoricalRate::getRate)
+                .allSatisfy(rate -> assertThat(rate).isEqualByComparingTo("1380.5"));
+        assertThat(published.get("JPY").get(0).getRate()).isEqualByComparingTo("9.5012");
+    }
+
+    @Test
+    void datesFromTheFirstFailedRequestOnAreLeftForTheNextRun() {
+        failing.add(LocalDate.of(2024, 3, 7));
+
+        Map<String, List<HistoricalRate>> published = client()
+                .fetchPublishedRangeAllCurrenciesAsync(MONDAY, FRIDAY).block();
+
+        assertThat(published.get("USD"))
+                .extracting(HistoricalRate::getDate)
+                .contains(MONDAY, LocalDate.of(2024, 3, 5))
+                .doesNotContain(LocalDate.of(2024, 3, 7), FRIDAY);
+    }
+
+    @Test
+    void errorResultIsAFailureNotAHoliday() {
+        rejected.add(LocalDate.of(2024, 3, 7));
+        ExchangeRateApiClient client = client();
+
+        Map<String, List<HistoricalRate>> published = client
+                .fetchPublishedRangeAllCurrenciesAsync(MONDAY, FRIDAY).block();
+
+        assertThat(published.get("USD"))
+                .extracting(HistoricalRate::getDate)
+                .contains(MONDAY, LocalDate.of(2024, 3, 5))
+                .doesNotContain(LocalDate.of(2024, 3, 7), FRIDAY);
+
+        // 실패 응답은 캐시하지 않으므로 한도가 풀리면 같은 날짜를 다시 받는다
+        rejected.clear();
+        assertThat(client.fetchPublishedRangeAllCurrenciesAsync(MONDAY, FRIDAY).block().get("USD"))
+                .extracting(HistoricalRate::getDate)
+                .contains(LocalDate.of(2024, 3, 7), FRIDAY);
+    }
+
+    private ExchangeRateApiClient client() {
+        WebClient koreaExim = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String query = request.url().getQuery();
+                    LocalDate date = LocalDate.parse(
+                            query.substring(query.indexOf("searchdate=") + 11, query.indexOf("searchdate=") + 19),
+                            SEARCH_DATE);
+                    if (failing.contains(date)) {
+                        return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(date.equals(HOLIDAY) ? "[]" : rejected.contains(date) ? DAILY_LIMIT_EXCEEDED : PUBLISHED)
+                            .build());
+                })
+                .build();
+
+        return new ExchangeRateApiClient(koreaExim, WebClient.create(), WebClient.create(), new ObjectMapper(),
+                new ForexMetrics(new SimpleMeterRegistry()),
+                "http://koreaexim.test/rates", "key", "http://backup.test",
+                4, 7,
+                0, 0, 3_600_000, 3_600_000, 100,
+                1000, 30_000, 100,
+                4000, 3000, 3000, 5000, 1000, 100,
+                60_000);
+    }
+}
@@ -0,0 +1,97 @@
+package com.buulgyeong.forexanalyzer.external;
+
+import com.buulgyeong.forexanalyzer.cache.LlmResponseCache;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 환율 반올림 단위(캐시 키 정규화)와 동시 miss 합류 검증
+ */
+class UpstageAiClientCacheKeyTest {
+
+    private static final String RESPONSE = "{\"choices\":[{\"message\":{\"content\":\"발주 적합\"}}]}";
+
+    private final LlmResponseCache cache = new LlmResponseCache(100, 3_600_000);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CompletableFuture<Void> release = new CompletableFuture<>();
+    private final UpstageAiClient client = client();
+
+    @Test
+    void rateBucketKeepsFourSignificantDigitsPerCurrency() {
+        assertThat(client.rateBucket(new BigDecimal("1385.50"))).isEqualByComparingTo("1");
+        assertThat(client.rateBucket(new BigDecimal("9.4712"))).isEqualByComparingTo("0.001");
+        assertThat(client.rateBucket(new BigDecimal("0.0912"))).isEqualByComparingTo("0.00001");
+        assertThat(client.rateBucket(BigDecimal.ZERO)).isEqualByComparingTo("1");
+    }
+
+    @Test
+    void quantizeRoundsHalfUpToTheBucket() {
+        assertThat(UpstageAiClient.quantize(new BigDecimal("1385.50"), BigDecimal.ONE).toPlainString()).isEqualTo("1386");
+        assertThat(UpstageAiClient.quantize(new BigDecimal("1385.49"), BigDecimal.ONE).toPlainString()).isEqualTo("1385");
+        assertThat(UpstageAiClient.quantize(new BigDecimal("9.4712"), new BigDecimal("0.001")).toPlainString()).isEqualTo("9.471");
+        assertThat(UpstageAiClient.quantize(new BigDecimal("0.091236"), new BigDecimal("0.00001")).toPlainString()).isEqualTo("0.09124");
+        assertThat(UpstageAiClient.quantize(new BigDecimal("15.04"), new BigDecimal("0.1")).toPlainString()).isEqualTo("15");
+    }
+
+    @Test
+    void ratesInTheSameBucketShareOneCacheEntry() {
+        release.complete(null);
+
+        evaluate("JPY", "9.4712", "9.9").block();
+        String second = evaluate("JPY", "9.4709", "9.9").block();
+
+        assertThat(second).isEqualTo("발주 적합");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void concurrentMissesForTheSameInputShareOneUpstreamCall() {
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            callers.add(evaluate("USD", "1385.50", "1456").toFuture());
+        }
+
+        release.complete(null);
+
+        assertThat(callers).allSatisfy(f -> assertThat(f.join()).isEqualTo("발주 적합"));
+        assertThat(calls).hasValue(1);
+        assertThat(cache.stats().joined()).isEqualTo(4);
+    }
+
+    private Mono<String> evaluate(String currency, String rate, String breakEvenRate) {
+        BigDecimal breakEven = new BigDecimal(breakEvenRate);
+        return client.generateExchangeRateEvaluationAsync(currency, new BigDecimal(rate), breakEven,
+                breakEven.multiply(new BigDecimal("0.85")), new BigDecimal("15"));
+    }
+
+    private UpstageAiClient client() {
+        WebClient upstage = WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return Mono.fromFuture(release).thenReturn(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(RESPONSE)
+                            .build());
+                })
+                .build();
+
+        return new UpstageAiClient(upstage, new ObjectMapper(), cache, new ForexMetrics(new SimpleMeterRegistry()),
+                "http://upstage.test/chat", "key", 4, new BigDecimal("0.1"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.buulgyeong.forexanalyzer.external;
+
+import com.buulgyeong.forexanalyzer.cache.LlmResponseCache;
+import com.buulgyeong.forexanalyzer.external.UpstageAiClient.Insights;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 환율 평가 + 모니터링 전략 통합 호출 (JSON 스키마 응답) 검증
+ */
+class UpstageAiClientInsightsTest {
+
+    private static final String USD = "USD";
+    private static final BigDecimal CURRENT = new BigDecimal("1385.50");
+    private static final BigDecimal BREAK_EVEN = new BigDecimal("1456.00");
+    private static final BigDecimal TARGET = new BigDecimal("1190.00");
+    private static final BigDecimal TARGET_MARGIN = new BigDecimal("15");
+    private static final BigDecimal CHANGE_30_DAY = new BigDecimal("1.82");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmResponseCache cache = new LlmResponseCache(100, 3_600_000);
+    private final Deque<String> responses = new ArrayDeque<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final UpstageAiClient client = client();
+
+    @Test
+    void validJsonFillsBothSectionsAndCachesThemForTheSeparateCalls() {
+        respond("{\"evaluation\": \" 발주 적합 \", \"strategy\": \"1380원 이하 발주\"}");
+
+        assertThat(insights()).isEqualTo(new Insights("발주 적합", "1380원 이하 발주"));
+
+        // 개별 호출과 같은 캐시 키를 쓰므로 다시 호출하지 않는다
+        assertThat(client.generateExchangeRateEvaluationAsync(USD, CURRENT, BREAK_EVEN, TARGET, TARGET_MARGIN).block())
+                .isEqualTo("발주 적합");
+        assertThat(client.generateMonitoringStrategyAsync(USD, CURRENT, BREAK_EVEN, TARGET, CHANGE_30_DAY).block())
+                .isEqualTo("1380원 이하 발주");
+        assertThat(insights()).isEqualTo(new Insights("발주 적합", "1380원 이하 발주"));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void codeFenceAroundTheJsonIsSkipped() {
+        respond("```json\n{\"evaluation\": \"평가\", \"strategy\": \"전략\"}\n```");
+
+        assertThat(insights()).isEqualTo(new Insights("평가", "전략"));
+    }
+
+    @Test
+    void truncatedResponseKeepsTheSectionsReadBeforeTheCut() {
+        respond("{\"evaluation\": \"평가\", \"strategy\": \"환율이 1380원 이하로");
+
+        Insights insights = insights();
+
+        assertThat(insights.evaluation()).isEqualTo("평가");
+        assertThat(insights.strategy()).isEqualTo(defaultStrategy());
+
+        // 받은 항목만 캐시되므로 다음 통합 호출은 전략만 새로 받는다
+        respond("{\"evaluation\": \"새 평가\", \"strategy\": \"전략\"}");
+        assertThat(insights()).isEqualTo(new Insights("평가", "전략"));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void blankOrOversizedSectionsFallBackOneByOne() {
+        respond("{\"evaluation\": \"   \", \"strategy\": \"전략\"}");
+        assertThat(insights()).isEqualTo(new Insights(defaultEvaluation(), "전략"));
+
+        // 다른 통화는 캐시 키가 달라 새로 호출한다
+        respond("{\"evaluation\": \"평가\", \"strategy\": \"" + "가".repeat(2001) + "\"}");
+        Insights oversized = client.generateInsightsAsync("JPY", CURRENT, BREAK_EVEN, TARGET, TARGET_MARGIN, CHANGE_30_DAY).block();
+        assertThat(oversized.evaluation()).isEqualTo("평가");
+        assertThat(oversized.strategy()).isEqualTo(
+                client.generateDefaultStrategy("JPY", CURRENT, BREAK_EVEN, TARGET, CHANGE_30_DAY));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void nonJsonContentFallsBackToDefaultsWithoutCaching() {
+        respond("죄송합니다. 지금은 답변할 수 없습니다.");
+
+        assertThat(insights()).isEqualTo(new Insights(defaultEvaluation(), defaultStrategy()));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void nonJsonHttpBodyFallsBackToDefaults() {
+        responses.add("<html>bad gateway</html>");
+
+        assertThat(insights()).isEqualTo(new Insights(defaultEvaluation(), defaultStrategy()));
+    }
+
+    @Test
+    void cachedSectionIsKeptAndOnlyTheOtherOneIsTaken() {
+        respond("이전에 받은 평가");
+        assertThat(client.generateExchangeRateEvaluationAsync(USD, CURRENT, BREAK_EVEN, TARGET, TARGET_MARGIN).block())
+                .isEqualTo("이전에 받은 평가");
+
+        respond("{\"evaluation\": \"새 평가\", \"strategy\": \"전략\"}");
+
+        assertThat(insights()).isEqualTo(new Insights("이전에 받은 평가", "전략"));
+        assertThat(calls).hasValue(2);
+    }
+
+    private Insights insights() {
+        return client.generateInsightsAsync(USD, CURRENT, BREAK_EVEN, TARGET, TARGET_MARGIN, CHANGE_30_DAY).block();
+    }
+
+    private String defaultEvaluation() {
+        return client.generateDefaultEvaluation(USD, CURRENT, BREAK_EVEN, TARGET, TARGET_MARGIN);
+    }
+
+    private String defaultStrategy() {
+        return client.generateDefaultStrategy(USD, CURRENT, BREAK_EVEN, TARGET, CHANGE_30_DAY);
+    }
+
+    /**
+     * chat completion 응답 (choices[0].message.content = content)
+     */
+    private void respond(String content) {
+        try {
+            responses.add(objectMapper.writeValueAsString(
+                    Map.of("choices", List.of(Map.of("message", Map.of("content", content))))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private UpstageAiClient client() {
+        WebClient upstage = WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    String body = responses.poll();
+                    if (body == null) {
+                        return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+
+        return new UpstageAiClient(upstage, objectMapper, cache, new ForexMetrics(new SimpleMeterRegistry()),
+                "http://upstage.test/chat", "key", 4, new BigDecimal("0.1"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.buulgyeong.forexanalyzer.repository;
+
+import com.buulgyeong.forexanalyzer.entity.ExchangeRateHistory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스키마 마이그레이션을 적용한 H2에서 batch MERGE upsert 검증
+ */
+class ExchangeRateHistoryBulkRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    private JdbcTemplate jdbcTemplate;
+    private ExchangeRateHistoryBulkRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new ExchangeRateHistoryBulkRepositoryImpl(jdbcTemplate, 2);
+    }
+
+    @Test
+    void insertsNewRowsAcrossBatches() {
+        int affected = repository.upsertAll(List.of(
+                history("USD", DAY, "1380.5"),
+                history("USD", DAY.plusDays(1), "1381.0"),
+                history("JPY", DAY, "9.4712")));
+
+        assertThat(affected).isEqualTo(3);
+        assertThat(count()).isEqualTo(3);
+        assertThat(rate("JPY", DAY)).isEqualByComparingTo("9.4712");
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM exchange_rate_history ORDER BY id", Long.class))
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void unchangedRowsAreNotRewrittenAndChangedRowsAreUpdatedInPlace() {
+        repository.upsertAll(List.of(history("USD", DAY, "1380.5"), history("USD", DAY.plusDays(1), "1381.0")));
+
+        int affected = repository.upsertAll(List.of(
+                history("USD", DAY, "1380.5"),
+                history("USD", DAY.plusDays(1), "1390.0")));
+
+        assertThat(affected).isEqualTo(1);
+        assertThat(count()).isEqualTo(2);
+        assertThat(rate("USD", DAY.plusDays(1))).isEqualByComparingTo("1390.0");
+    }
+
+    @Test
+    void emptyInputDoesNothing() {
+        assertThat(repository.upsertAll(List.of())).isZero();
+        assertThat(count()).isZero();
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exchange_rate_history", Integer.class);
+    }
+
+    private BigDecimal rate(String currencyCode, LocalDate date) {
+        return jdbcTemplate.queryForObject(
+                "SELECT rate FROM exchange_rate_history WHERE currency_code = ? AND rate_date = ?",
+                BigDecimal.class, currencyCode, java.sql.Date.valueOf(date));
+    }
+
+    private static ExchangeRateHistory history(String currencyCode, LocalDate date, String rate) {
+        return ExchangeRateHistory.builder()
+                .currencyCode(currencyCode)
+                .rateDate(date)
+                .rate(new BigDecimal(rate))
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.external.UpstageAiClient;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchAnalysisServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ForkJoinPool pool = new ForkJoinPool(1);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void unreadableInputEndsWithAnErrorLineCarryingItsIndex() throws IOException {
+        BatchAnalysisService service = service(null, 2);
+        Iterator<CompanyInputRequest> inputs = failingAfter(List.of(input(), input(), input()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = service.analyze(inputs, rateInfo(), false, out);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(count).isEqualTo(3);
+        assertThat(lines).extracting(line -> line.get("index").asLong()).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(lines.subList(0, 3)).allSatisfy(line -> assertThat(line.has("analysis")).isTrue());
+        assertThat(lines.get(3).get("error").asText()).contains("입력을 읽을 수 없습니다");
+    }
+
+    @Test
+    void aiItemsArriveInInputOrderWithoutUsingTheBatchPool() throws IOException {
+        UpstageAiClient aiClient = mock(UpstageAiClient.class);
+        // 첫 항목의 AI 응답이 가장 늦게 도착해도 출력 순서는 입력 순서를 따른다
+        when(aiClient.generateInsightsAsync(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(new UpstageAiClient.Insights("slow", "slow")).delayElement(Duration.ofMillis(100)))
+                .thenReturn(Mono.just(new UpstageAiClient.Insights("fast", "fast")));
+        BatchAnalysisService service = service(aiClient, 1024);
+        pool.shutdownNow();
+
+        CompanyInputRequest invalid = input();
+        invalid.setMaterialCostUsd(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.analyze(List.of(input(), invalid, input()).iterator(), rateInfo(), true, out);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).extracting(line -> line.get("index").asLong()).containsExactly(0L, 1L, 2L);
+        assertThat(lines.get(0).at("/analysis/monitoringStrategy").asText()).isEqualTo("slow");
+        assertThat(lines.get(1).has("error")).isTrue();
+        assertThat(lines.get(2).at("/analysis/monitoringStrategy").asText()).isEqualTo("fast");
+    }
+
+    private BatchAnalysisService service(UpstageAiClient aiClient, int chunkSize) {
+        ProfitLossAnalysisService analysisService =
+                new ProfitLossAnalysisService(null, aiClient, new ForexMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(analysisService, "aiTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(analysisService, "combinedAi", true);
+
+        BatchAnalysisService service = new BatchAnalysisService(analysisService, null,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, pool);
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(service, "aiChunkSize", chunkSize);
+        return service;
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    /**
+     * 주어진 항목을 모두 돌려준 뒤 다음 항목을 읽을 때 JSON 오류처럼 실패하는 입력
+     */
+    private static Iterator<CompanyInputRequest> failingAfter(List<CompanyInputRequest> items) {
+        Iterator<CompanyInputRequest> delegate = items.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (!delegate.hasNext()) {
+                    throw new IllegalStateException("Unexpected character");
+                }
+                return true;
+            }
+
+            @Override
+            public CompanyInputRequest next() {
+                return delegate.next();
+            }
+        };
+    }
+
+    private static CompanyInputRequest input() {
+        return CompanyInputRequest.builder()
+                .materialCostUsd(new BigDecimal("12.50"))
+                .materialRatio(new BigDecimal("60"))
+                .sellingPriceKrw(new BigDecimal("35000"))
+                .targetMarginRate(new BigDecimal("15"))
+                .otherCostsKrw(new BigDecimal("4500"))
+                .build();
+    }
+
+    private static ExchangeRateResponse rateInfo() {
+        return ExchangeRateResponse.builder()
+                .currencyCode("USD")
+                .currentRate(new BigDecimal("1385.50"))
+                .rate30DaysAgo(new BigDecimal("1385.50"))
+                .changeRate30Day(BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 정수 커널과 BigDecimal 계산(calculateTotalCost / calculateMarginRate)의 값, scale, 반올림 일치 검증
+ */
+class CostKernelParityTest {
+
+    private final ProfitLossAnalysisService service = new ProfitLossAnalysisService(null, null, null);
+
+    @Test
+    void randomizedInputsMatchBigDecimalPath() {
+        Random random = new Random(20240304L);
+        int compared = 0;
+        for (int i = 0; i < 20_000; i++) {
+            CompanyInputRequest input = input(
+                    decimal(random, 100_000, 4),
+                    decimal(random, 100, 2).max(new BigDecimal("0.01")),
+                    decimal(random, 100_000_000, 2),
+                    decimal(random, 10_000_000, 2));
+            BigDecimal rate = decimal(random, 10_000, 4);
+
+            if (assertParity(input, rate)) {
+                compared++;
+            }
+        }
+        assertThat(compared).isGreaterThan(18_000);
+    }
+
+    @Test
+    void halfUpTiesRoundAwayFromZeroLikeBigDecimal() {
+        // 원자재 비중 0.3 -> 원가 = 1 * 1 / 0.3 = 3.333.. / 0.6 -> 1.666.. 등 소수 2자리 경계 포함
+        for (String ratio : new String[]{"30", "60", "70", "12.5", "33.33", "66.67"}) {
+            for (String rate : new String[]{"0.0001", "0.0912", "9.4712", "1385.5", "1385.125", "1385.0050"}) {
+                assertParity(input(new BigDecimal("12.35"), new BigDecimal(ratio), new BigDecimal("4500.55"),
+                        new BigDecimal("35000")), new BigDecimal(rate));
+            }
+        }
+        // 마진이 음수인 경우 (납품 단가 < 원가)
+        assertParity(input(new BigDecimal("100"), new BigDecimal("10"), new BigDecimal("1000"), new BigDecimal("1")),
+                new BigDecimal("1385.55"));
+    }
+
+    @Test
+    void fullMaterialRatioMatchesBigDecimalPath() {
+        CompanyInputRequest input = input(new BigDecimal("12.50"), new BigDecimal("100"),
+                new BigDecimal("4500"), new BigDecimal("35000"));
+
+        assertThat(assertParity(input, new BigDecimal("1385.50"))).isTrue();
+        CostKernel kernel = CostKernel.compile(input);
+        assertThat(CostKernel.money(kernel.costCents(CostKernel.toRate4(new BigDecimal("1385.50")))))
+                .isEqualTo(new BigDecimal("21818.75"));
+    }
+
+    @Test
+    void zeroMaterialRatioIsNotCompiledAndBigDecimalPathRejectsIt() {
+        for (String ratio : new String[]{"0", "0.004"}) {
+            CompanyInputRequest input = input(new BigDecimal("12.50"), new BigDecimal(ratio),
+                    new BigDecimal("4500"), new BigDecimal("35000"));
+
+            assertThat(CostKernel.compile(input)).isNull();
+            assertThatThrownBy(() -> service.calculateTotalCost(input, new BigDecimal("1385.50")))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Test
+    void largeValuesMatchOrFallBackInsteadOfOverflowing() {
+        CompanyInputRequest large = input(new BigDecimal("9999999999.9999"), new BigDecimal("0.01"),
+                new BigDecimal("999999999999.99"), new BigDecimal("999999999999.99"));
+        CostKernel kernel = CostKernel.compile(large);
+        assertThat(kernel).isNotNull();
+        assertThat(kernel.costCents(CostKernel.toRate4(new BigDecimal("99999.9999")))).isEqualTo(CostKernel.UNSUPPORTED);
+
+        // 중간 곱이 long 범위 안이면 BigDecimal과 같은 값
+        assertThat(assertParity(input(new BigDecimal("999999.9999"), new BigDecimal("50"),
+                new BigDecimal("99999999999.99"), new BigDecimal("999999999999.99")), new BigDecimal("9999.9999"))).isTrue();
+
+        // 정수로 표현할 수 없는 입력은 커널을 만들지 않는다
+        assertThat(CostKernel.compile(input(new BigDecimal("1e20"), new BigDecimal("50"),
+                new BigDecimal("0"), new BigDecimal("1")))).isNull();
+        assertThat(CostKernel.compile(input(new BigDecimal("1.00001"), new BigDecimal("50"),
+                new BigDecimal("0"), new BigDecimal("1")))).isNull();
+        assertThat(CostKernel.toRate4(new BigDecimal("1385.00001"))).isEqualTo(CostKernel.UNSUPPORTED);
+    }
+
+    /**
+     * 커널로 계산할 수 있으면 BigDecimal 결과와 값/scale이 같은지 확인 (계산할 수 없으면 false)
+     */
+    private boolean assertParity(CompanyInputRequest input, BigDecimal rate) {
+        CostKernel kernel = CostKernel.compile(input);
+        if (kernel == null) {
+            return false;
+        }
+        long costCents = kernel.costCents(CostKernel.toRate4(rate));
+        long marginCents = kernel.marginCents(costCents);
+        long marginRateBasis = kernel.marginRateBasis(marginCents);
+        if (marginRateBasis == CostKernel.UNSUPPORTED) {
+            return false;
+        }
+
+        BigDecimal cost = service.calculateTotalCost(input, rate);
+        BigDecimal margin = input.getSellingPriceKrw().subtract(cost);
+        BigDecimal marginRate = service.calculateMarginRate(margin, input.getSellingPriceKrw());
+
+        String context = "input=" + input + ", rate=" + rate;
+        assertThat(CostKernel.money(costCents)).as(context).isEqualTo(cost);
+        assertThat(CostKernel.money(marginCents)).as(context).isEqualByComparingTo(margin);
+        assertThat(CostKernel.won(costCents)).as(context).isEqualTo(cost.setScale(0, RoundingMode.HALF_UP));
+        assertThat(CostKernel.won(marginCents)).as(context).isEqualTo(margin.setScale(0, RoundingMode.HALF_UP));
+        assertThat(CostKernel.percent(marginRateBasis)).as(context).isEqualTo(marginRate);
+        assertThat(service.calculateTotalCost(input, kernel, rate)).as(context).isEqualTo(cost);
+        return true;
+    }
+
+    private static BigDecimal decimal(Random random, long bound, int maxScale) {
+        int scale = random.nextInt(maxScale + 1);
+        long unscaled = (long) (random.nextDouble() * bound * Math.pow(10, scale));
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private static CompanyInputRequest input(BigDecimal materialCost, BigDecimal materialRatio,
+                                             BigDecimal otherCosts, BigDecimal sellingPrice) {
+        return CompanyInputRequest.builder()
+                .materialCostUsd(materialCost)
+                .materialRatio(materialRatio)
+                .otherCostsKrw(otherCosts)
+                .sellingPriceKrw(sellingPrice.signum() > 0 ? sellingPrice : BigDecimal.ONE)
+                .targetMarginRate(new BigDecimal("15"))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.cache.RateTimeSeriesStore;
+import com.buulgyeong.forexanalyzer.dto.HistoricalRate;
+import com.buulgyeong.forexanalyzer.entity.ExchangeRateHistory;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.buulgyeong.forexanalyzer.repository.ExchangeRateHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * saveHistory가 메모리 시계열과 값이 다른 날짜만 upsert하는지 검증
+ */
+class ExchangeRateServiceSaveHistoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    private final ExchangeRateHistoryRepository repository = mock(ExchangeRateHistoryRepository.class);
+    private final RateTimeSeriesStore store = new RateTimeSeriesStore();
+    private final ExchangeRateService service = new ExchangeRateService(
+            repository, null, store, new ForexMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void onlyNewOrChangedDatesAreUpsertedAndMergedIntoTheSeries() {
+        store.merge("USD", Map.of(DAY, new BigDecimal("1380.5"), DAY.plusDays(1), new BigDecimal("1381.0")));
+        when(repository.upsertAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        service.saveHistory(Map.of(
+                "USD", List.of(
+                        new HistoricalRate(DAY, new BigDecimal("1380.50")),
+                        new HistoricalRate(DAY.plusDays(1), new BigDecimal("1390.0")),
+                        new HistoricalRate(DAY.plusDays(2), new BigDecimal("1385.0"))),
+                "JPY", List.of(new HistoricalRate(DAY, new BigDecimal("9.4712")))));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ExchangeRateHistory>> upserted = ArgumentCaptor.forClass(List.class);
+        verify(repository).upsertAll(upserted.capture());
+        assertThat(upserted.getValue())
+                .extracting(h -> h.getCurrencyCode() + "@" + h.getRateDate())
+                .containsExactlyInAnyOrder("USD@" + DAY.plusDays(1), "USD@" + DAY.plusDays(2), "JPY@" + DAY);
+
+        assertThat(store.get("USD").rateOn(DAY.plusDays(1))).isEqualByComparingTo("1390.0");
+        assertThat(store.get("USD").lastDate()).isEqualTo(DAY.plusDays(2));
+        assertThat(store.get("JPY").rateOn(DAY)).isEqualByComparingTo("9.4712");
+    }
+
+    @Test
+    void unchangedHistoryUpsertsNothing() {
+        store.merge("USD", Map.of(DAY, new BigDecimal("1380.5")));
+
+        service.saveHistory(Map.of("USD", List.of(new HistoricalRate(DAY, new BigDecimal("1380.5")))));
+
+        verify(repository).upsertAll(List.of());
+    }
+}
@@ -0,0 +1,135 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse.MarginRateChange;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse.ScenarioAnalysis;
+import com.buulgyeong.forexanalyzer.external.UpstageAiClient;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProfitLossAnalysisServiceTest {
+
+    private final ProfitLossAnalysisService service =
+            new ProfitLossAnalysisService(null, null, new ForexMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void usdAnalysisKeepsTwentyWonScenariosAndTenWonCurve() {
+        ProfitLossAnalysisResponse response = service.analyzeDeterministic(
+                input(null, "12.50"), rateInfo("USD", "1385.50"));
+
+        assertThat(rates(response.getScenarioAnalysisList()))
+                .containsExactly(bd("1340"), bd("1360"), bd("1380"), bd("1400"), bd("1420"));
+        List<MarginRateChange> curve = response.getMarginRateChanges();
+        assertThat(curve).hasSize(21);
+        assertThat(curve.get(0).getExchangeRate()).isEqualByComparingTo("1285.50");
+        assertThat(curve.get(20).getExchangeRate()).isEqualByComparingTo("1485.50");
+
+        ProfitLossAnalysisResponse.ExchangeRateStatus status = response.getExchangeRateStatus();
+        BigDecimal target = response.getOrderTimingGuide().getTargetExchangeRate();
+        assertThat(status.getMinRange()).isEqualByComparingTo(target.subtract(bd("75")));
+        assertThat(status.getMaxRange()).isEqualByComparingTo(target.add(bd("75")));
+        assertThat(response.getOrderTimingGuide().getBreakEvenExchangeRate().scale()).isEqualTo(2);
+        assertThat(response.getOrderTimingGuide().getBreakEvenMessage()).contains("원/USD");
+    }
+
+    @Test
+    void jpyAnalysisScalesStepsAndPrecisionToTheRate() {
+        ProfitLossAnalysisResponse response = service.analyzeDeterministic(
+                input("JPY", "1300"), rateInfo("JPY", "9.4712"));
+
+        assertThat(rates(response.getScenarioAnalysisList()))
+                .containsExactly(bd("9.0"), bd("9.2"), bd("9.4"), bd("9.6"), bd("9.8"));
+        assertThat(response.getScenarioAnalysisList())
+                .extracting(ScenarioAnalysis::getCost)
+                .doesNotHaveDuplicates();
+
+        List<MarginRateChange> curve = response.getMarginRateChanges();
+        assertThat(curve.get(0).getExchangeRate()).isPositive();
+        assertThat(curve.get(20).getExchangeRate().subtract(curve.get(0).getExchangeRate()))
+                .isLessThan(bd("9.4712").multiply(bd("0.25")));
+
+        BigDecimal breakEven = response.getOrderTimingGuide().getBreakEvenExchangeRate();
+        assertThat(breakEven).isEqualByComparingTo("14.077");
+        assertThat(response.getOrderTimingGuide().getBreakEvenMessage()).contains("14.08원/JPY");
+        assertThat(response.getExchangeRateStatus().getMinRange()).isPositive();
+        assertThat(response.getExchangeRateStatus().getStatusLevel()).isEqualTo("EXCELLENT");
+    }
+
+    @Test
+    void idrAnalysisDoesNotCollapseRatesOrGoNegative() {
+        ProfitLossAnalysisResponse response = service.analyzeDeterministic(
+                input("IDR", "130000"), rateInfo("IDR", "0.0912"));
+
+        List<BigDecimal> scenarioRates = rates(response.getScenarioAnalysisList());
+        assertThat(scenarioRates).doesNotHaveDuplicates().allSatisfy(rate -> assertThat(rate).isPositive());
+        assertThat(response.getMarginRateChanges())
+                .extracting(MarginRateChange::getExchangeRate)
+                .doesNotHaveDuplicates()
+                .allSatisfy(rate -> assertThat(rate).isPositive());
+        assertThat(response.getOrderTimingGuide().getBreakEvenExchangeRate()).isEqualByComparingTo("0.14077");
+    }
+
+    @Test
+    void stagedAndAsyncAnalysisShareTheTimeoutFallback() {
+        UpstageAiClient aiClient = mock(UpstageAiClient.class);
+        when(aiClient.generateInsightsAsync(any(), any(), any(), any(), any(), any())).thenReturn(Mono.never());
+        when(aiClient.generateDefaultEvaluation(any(), any(), any(), any(), any())).thenReturn("default-evaluation");
+        when(aiClient.generateDefaultStrategy(any(), any(), any(), any(), any())).thenReturn("default-strategy");
+
+        ProfitLossAnalysisService aiService =
+                new ProfitLossAnalysisService(null, aiClient, new ForexMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(aiService, "aiTimeoutMs", 50L);
+        ReflectionTestUtils.setField(aiService, "combinedAi", true);
+
+        CompanyInputRequest input = input(null, "12.50");
+        ExchangeRateResponse rateInfo = rateInfo("USD", "1385.50");
+        ProfitLossAnalysisResponse staged = aiService.analyzeStaged(input, rateInfo).join();
+        ProfitLossAnalysisResponse async = aiService.analyzeAsync(input, rateInfo).block();
+
+        for (ProfitLossAnalysisResponse response : List.of(staged, async)) {
+            assertThat(response.getExchangeRateStatus().getAiEvaluation()).isEqualTo("default-evaluation");
+            assertThat(response.getMonitoringStrategy()).isEqualTo("default-strategy");
+        }
+    }
+
+    private static List<BigDecimal> rates(List<ScenarioAnalysis> scenarios) {
+        return scenarios.stream().map(ScenarioAnalysis::getExchangeRate).toList();
+    }
+
+    private static CompanyInputRequest input(String currency, String materialCost) {
+        return CompanyInputRequest.builder()
+                .materialCostUsd(new BigDecimal(materialCost))
+                .materialRatio(new BigDecimal("60"))
+                .sellingPriceKrw(new BigDecimal("35000"))
+                .targetMarginRate(new BigDecimal("15"))
+                .otherCostsKrw(new BigDecimal("4500"))
+                .materialCurrency(currency)
+                .build();
+    }
+
+    private static ExchangeRateResponse rateInfo(String currency, String rate) {
+        return ExchangeRateResponse.builder()
+                .currencyCode(currency)
+                .currentRate(new BigDecimal(rate))
+                .rate30DaysAgo(new BigDecimal(rate))
+                .changeRate30Day(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static BigDecimal bd(String value) {
+        return new BigDecimal(value);
+    }
+}
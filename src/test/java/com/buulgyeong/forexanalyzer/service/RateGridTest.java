@@ -0,0 +1,41 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateGridTest {
+
+    @Test
+    void stepIsTheNearestOneTwoFiveValueProportionalToTheRate() {
+        assertThat(RateGrid.step(new BigDecimal("1385.50"), 0.015)).isEqualByComparingTo("20");
+        assertThat(RateGrid.step(new BigDecimal("1333.00"), 0.015)).isEqualByComparingTo("20");
+        assertThat(RateGrid.step(new BigDecimal("1385.50"), 0.0075)).isEqualByComparingTo("10");
+        assertThat(RateGrid.step(new BigDecimal("9.4712"), 0.015)).isEqualByComparingTo("0.2");
+        assertThat(RateGrid.step(new BigDecimal("9.20"), 0.015)).isEqualByComparingTo("0.1");
+        assertThat(RateGrid.step(new BigDecimal("0.0912"), 0.015)).isEqualByComparingTo("0.001");
+        assertThat(RateGrid.step(new BigDecimal("185.20"), 0.015)).isEqualByComparingTo("2");
+    }
+
+    @Test
+    void stepFallsBackToOneForNonPositiveRates() {
+        assertThat(RateGrid.step(BigDecimal.ZERO, 0.015)).isEqualByComparingTo("1");
+    }
+
+    @Test
+    void scaleKeepsFiveSignificantDigitsButAtLeastTwoDecimals() {
+        assertThat(RateGrid.scale(1385.5)).isEqualTo(2);
+        assertThat(RateGrid.scale(9.4712)).isEqualTo(4);
+        assertThat(RateGrid.scale(0.0912)).isEqualTo(6);
+        assertThat(RateGrid.scale(0)).isEqualTo(2);
+    }
+
+    @Test
+    void formatUsesOneDecimalForLargeRatesAndSignificantDigitsOtherwise() {
+        assertThat(RateGrid.format(new BigDecimal("1385.24"))).isEqualTo("1385.2");
+        assertThat(RateGrid.format(new BigDecimal("9.4712"))).isEqualTo("9.471");
+        assertThat(RateGrid.format(new BigDecimal("0.091234"))).isEqualTo("0.09123");
+    }
+}
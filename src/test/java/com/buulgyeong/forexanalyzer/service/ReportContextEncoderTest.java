@@ -0,0 +1,138 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.ProfitLossAnalysisResponse;
+import com.buulgyeong.forexanalyzer.dto.RateSource;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportContextEncoderTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 29);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ProfitLossAnalysisService analysisService =
+            new ProfitLossAnalysisService(null, null, new ForexMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void fullContextFitsTheDefaultBudget() throws Exception {
+        ExchangeRateResponse ex = exchangeRate("USD", 1380.0, 0.7);
+        ReportContextEncoder.EncodedContext context = new ReportContextEncoder(objectMapper, 800)
+                .encode(ex, analysis(ex, "12.50", "AI 평가 ".repeat(10)));
+
+        assertThat(context.estimatedTokens()).isLessThanOrEqualTo(800)
+                .isEqualTo(TokenEstimator.estimate(context.json()));
+        JsonNode root = objectMapper.readTree(context.json());
+        assertThat(root.path("fx").path("trend").path("pts").size()).isGreaterThanOrEqualTo(12);
+        assertThat(root.has("scn")).isTrue();
+        assertThat(root.path("status").has("aiEval")).isTrue();
+    }
+
+    @Test
+    void contextIsDegradedStepByStepToStayWithinBudget() throws Exception {
+        ExchangeRateResponse ex = exchangeRate("USD", 1380.0, 0.7);
+        ProfitLossAnalysisResponse analysis = analysis(ex, "12.50", "환율 평가 문장입니다. ".repeat(100));
+
+        int full = new ReportContextEncoder(objectMapper, Integer.MAX_VALUE).encode(ex, analysis).estimatedTokens();
+        int budget = full / 2;
+        ReportContextEncoder.EncodedContext context = new ReportContextEncoder(objectMapper, budget).encode(ex, analysis);
+
+        assertThat(context.estimatedTokens()).isLessThanOrEqualTo(budget);
+        JsonNode root = objectMapper.readTree(context.json());
+        assertThat(root.path("status").path("aiEval").asText().length()).isLessThanOrEqualTo(201);
+        // 핵심 수치는 축약 단계와 관계없이 유지
+        assertThat(root.path("timing").has("breakEven")).isTrue();
+        assertThat(root.path("pl").has("margin%")).isTrue();
+    }
+
+    @Test
+    void unreachableBudgetReturnsTheSmallestValidContext() throws Exception {
+        ExchangeRateResponse ex = exchangeRate("USD", 1380.0, 0.7);
+        ReportContextEncoder.EncodedContext context = new ReportContextEncoder(objectMapper, 10)
+                .encode(ex, analysis(ex, "12.50", "평가"));
+
+        assertThat(context.estimatedTokens()).isGreaterThan(10);
+        JsonNode root = objectMapper.readTree(context.json());
+        assertThat(root.path("fx").path("trend").has("pts")).isFalse();
+        assertThat(root.has("scn")).isFalse();
+        assertThat(root.path("status").has("aiEval")).isFalse();
+    }
+
+    @Test
+    void sameInputGivesTheSameString() {
+        ExchangeRateResponse ex = exchangeRate("USD", 1380.0, 0.7);
+        ProfitLossAnalysisResponse analysis = analysis(ex, "12.50", "평가");
+        ReportContextEncoder encoder = new ReportContextEncoder(objectMapper, 800);
+
+        assertThat(encoder.encode(ex, analysis).json()).isEqualTo(encoder.encode(ex, analysis).json());
+    }
+
+    @Test
+    void smallRatesKeepTheirPrecision() throws Exception {
+        ExchangeRateResponse ex = exchangeRate("JPY", 9.4712, 0.0031);
+        JsonNode root = objectMapper.readTree(new ReportContextEncoder(objectMapper, 800)
+                .encode(ex, analysis(ex, "1300", "평가")).json());
+
+        assertThat(root.path("fx").path("now").asDouble()).isEqualTo(9.4712);
+        assertThat(root.path("timing").path("breakEven").asDouble()).isEqualTo(14.077);
+        List<Double> scenarioRates = new ArrayList<>();
+        root.path("scn").path("rows").forEach(row -> scenarioRates.add(row.get(0).asDouble()));
+        assertThat(scenarioRates).doesNotHaveDuplicates().allSatisfy(rate -> assertThat(rate).isBetween(8.0, 11.0));
+    }
+
+    @Test
+    void exchangeRateOnlyContextWhenAnalysisIsMissing() throws Exception {
+        JsonNode root = objectMapper.readTree(new ReportContextEncoder(objectMapper, 800)
+                .encode(exchangeRate("USD", 1380.0, 0.7), null).json());
+
+        assertThat(root.fieldNames()).toIterable().containsExactly("fx");
+    }
+
+    private ProfitLossAnalysisResponse analysis(ExchangeRateResponse ex, String materialCost, String aiText) {
+        ProfitLossAnalysisResponse analysis = analysisService.analyzeDeterministic(CompanyInputRequest.builder()
+                .materialCostUsd(new BigDecimal(materialCost))
+                .materialRatio(new BigDecimal("60"))
+                .sellingPriceKrw(new BigDecimal("35000"))
+                .targetMarginRate(new BigDecimal("15"))
+                .otherCostsKrw(new BigDecimal("4500"))
+                .materialCurrency(ex.getCurrencyCode())
+                .build(), ex);
+        analysis.getExchangeRateStatus().setAiEvaluation(aiText);
+        analysis.setMonitoringStrategy(aiText);
+        return analysis;
+    }
+
+    private static ExchangeRateResponse exchangeRate(String currency, double base, double dailyMove) {
+        List<ExchangeRateResponse.DailyRate> rates = new ArrayList<>();
+        for (int i = 29; i >= 0; i--) {
+            double rate = base + dailyMove * ((i * 7) % 11 - 5);
+            rates.add(ExchangeRateResponse.DailyRate.builder()
+                    .date(TODAY.minusDays(i))
+                    .rate(BigDecimal.valueOf(rate).setScale(4, java.math.RoundingMode.HALF_UP))
+                    .build());
+        }
+        BigDecimal current = rates.get(rates.size() - 1).getRate();
+        return ExchangeRateResponse.builder()
+                .currencyCode(currency)
+                .currentRate(BigDecimal.valueOf(base))
+                .rateSource(RateSource.KOREAEXIM)
+                .changeRate1Day(new BigDecimal("0.12"))
+                .changeRate7Day(new BigDecimal("-0.40"))
+                .changeRate30Day(new BigDecimal("1.05"))
+                .rate30DaysAgo(current)
+                .last30DaysRates(rates)
+                .lastUpdated(TODAY)
+                .build();
+    }
+}
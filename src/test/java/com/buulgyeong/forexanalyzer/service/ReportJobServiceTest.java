@@ -0,0 +1,164 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.config.AsyncConfig;
+import com.buulgyeong.forexanalyzer.controller.ApiController;
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.FinalReportResponse;
+import com.buulgyeong.forexanalyzer.dto.ReportJobResponse;
+import com.buulgyeong.forexanalyzer.scheduler.ExchangeRateHistoryBootstrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 리포트 작업 상태 전이, 큐 포화 시 거절, 보관 기간 정리 검증 (실행기: 스레드 1개 + 큐 1개)
+ */
+class ReportJobServiceTest {
+
+    private static final FinalReportResponse REPORT = FinalReportResponse.builder()
+            .reportMarkdown("# 리포트")
+            .aiContextJson("{}")
+            .fullAnalysisJson("{}")
+            .generatedAt(Instant.now())
+            .build();
+
+    private final FinalReportService finalReportService = mock(FinalReportService.class);
+    private final ThreadPoolTaskExecutor executor = new AsyncConfig().reportTaskExecutor(1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ReportJobService service;
+
+    ReportJobServiceTest() {
+        executor.initialize();
+        service = new ReportJobService(finalReportService, executor);
+        ReflectionTestUtils.setField(service, "resultTtlMs", 60_000L);
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void jobMovesFromQueuedThroughRunningToCompleted() throws InterruptedException {
+        blockReports();
+
+        ReportJob running = service.submit(new CompanyInputRequest(), null);
+        ReportJob queued = service.submit(new CompanyInputRequest(), null);
+
+        awaitStatus(running, ReportJob.Status.RUNNING);
+        assertThat(running.getStartedAt()).isNotNull();
+        assertThat(queued.getStatus()).isEqualTo(ReportJob.Status.QUEUED);
+        assertThat(queued.getStartedAt()).isNull();
+
+        release.countDown();
+
+        awaitStatus(running, ReportJob.Status.COMPLETED);
+        awaitStatus(queued, ReportJob.Status.COMPLETED);
+        assertThat(running.getResult()).isSameAs(REPORT);
+        assertThat(running.getCompletedAt()).isAfterOrEqualTo(running.getStartedAt());
+
+        ReportJobResponse response = service.toResponse(running);
+        assertThat(response.getStatus()).isEqualTo("COMPLETED");
+        assertThat(service.findJob(running.getId())).containsSame(running);
+    }
+
+    @Test
+    void failedReportMarksTheJobFailedWithTheError() throws InterruptedException {
+        when(finalReportService.generateFinalReportForInput(any(), any()))
+                .thenThrow(new IllegalStateException("AI 호출 실패"));
+
+        ReportJob job = service.submit(new CompanyInputRequest(), null);
+
+        awaitStatus(job, ReportJob.Status.FAILED);
+        assertThat(job.getError()).isEqualTo("AI 호출 실패");
+        assertThat(job.getResult()).isNull();
+        assertThat(job.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void saturatedExecutorRejectsWithoutLeavingAJobBehind() throws InterruptedException {
+        blockReports();
+        ReportJob running = service.submit(new CompanyInputRequest(), null);
+        awaitStatus(running, ReportJob.Status.RUNNING);
+        service.submit(new CompanyInputRequest(), null);
+
+        assertThatThrownBy(() -> service.submit(new CompanyInputRequest(), null))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(jobs()).hasSize(2);
+
+        ResponseEntity<ReportJobResponse> response = controller().submitReportJob(new CompanyInputRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        assertThat(response.getBody()).isNull();
+        assertThat(jobs()).hasSize(2);
+    }
+
+    @Test
+    void evictionRemovesOnlyFinishedJobsOlderThanTheTtl() throws InterruptedException {
+        when(finalReportService.generateFinalReportForInput(any(), any())).thenReturn(REPORT);
+        ReportJob completed = service.submit(new CompanyInputRequest(), null);
+        awaitStatus(completed, ReportJob.Status.COMPLETED);
+
+        blockReports();
+        ReportJob running = service.submit(new CompanyInputRequest(), null);
+        awaitStatus(running, ReportJob.Status.RUNNING);
+        ReportJob queued = service.submit(new CompanyInputRequest(), null);
+
+        // 보관 기간 이내의 완료 작업은 유지
+        service.evictExpiredJobs();
+        assertThat(jobs()).hasSize(3);
+
+        ReflectionTestUtils.setField(service, "resultTtlMs", 10L);
+        Thread.sleep(30);
+        service.evictExpiredJobs();
+
+        assertThat(service.findJob(completed.getId())).isEmpty();
+        assertThat(service.findJob(running.getId())).containsSame(running);
+        assertThat(service.findJob(queued.getId())).containsSame(queued);
+    }
+
+    private void blockReports() {
+        when(finalReportService.generateFinalReportForInput(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return REPORT;
+        });
+    }
+
+    private ApiController controller() {
+        return new ApiController(mock(ExchangeRateService.class), mock(ProfitLossAnalysisService.class),
+                finalReportService, service, mock(BatchAnalysisService.class), mock(SensitivityAnalysisService.class),
+                mock(RiskSimulationService.class), mock(ExchangeRateHistoryBootstrapper.class), new ObjectMapper());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ReportJob> jobs() {
+        return (Map<String, ReportJob>) ReflectionTestUtils.getField(service, "jobs");
+    }
+
+    private static void awaitStatus(ReportJob job, ReportJob.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(job.getStatus()).isEqualTo(status);
+    }
+}
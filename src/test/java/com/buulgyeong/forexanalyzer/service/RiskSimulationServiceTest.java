@@ -0,0 +1,138 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.ExchangeRateResponse;
+import com.buulgyeong.forexanalyzer.dto.RiskSimulationResponse;
+import com.buulgyeong.forexanalyzer.metrics.ForexMetrics;
+import com.buulgyeong.forexanalyzer.service.RiskSimulationService.Model;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RiskSimulationServiceTest {
+
+    private static final int MAX_PATHS = 100_000;
+    private static final int MAX_HORIZON_DAYS = 365;
+
+    private final ExchangeRateService exchangeRateService = mock(ExchangeRateService.class);
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final RiskSimulationService service = new RiskSimulationService(exchangeRateService,
+            new ProfitLossAnalysisService(null, null, new ForexMetrics(new SimpleMeterRegistry())),
+            pool, 365, MAX_PATHS, MAX_HORIZON_DAYS, 0.95);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void sameSeedGivesTheSameResult() {
+        history(randomWalk(365));
+
+        RiskSimulationResponse first = service.simulate(input("4500"), rateInfo(), Model.GBM, 20_000, 30, 42L);
+        RiskSimulationResponse second = service.simulate(input("4500"), rateInfo(), Model.GBM, 20_000, 30, 42L);
+
+        assertThat(second.getRateBands()).containsExactly(first.getRateBands());
+        assertThat(second.getMarginBands()).containsExactly(first.getMarginBands());
+        assertThat(second.getBreachProbabilityAnyTime()).isEqualTo(first.getBreachProbabilityAnyTime());
+        assertThat(second.getExpectedMargin()).isEqualTo(first.getExpectedMargin());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Model.class)
+    void everyModelProducesMonotoneBands(Model model) {
+        history(randomWalk(365));
+
+        RiskSimulationResponse response = service.simulate(input("4500"), rateInfo(), model, 20_000, 30, 7L);
+
+        assertThat(response.getModel()).isEqualTo(model.name());
+        assertThat(response.getObservations()).isEqualTo(364);
+        assertThat(response.getDailyVolatility()).isPositive();
+        assertThat(response.getRateBands()).hasSize(response.getPercentiles().length).isSorted();
+        assertThat(response.getMarginBands()).hasSize(response.getPercentiles().length).isSorted();
+        assertThat(response.getBreachProbabilityAnyTime())
+                .isBetween(response.getBreachProbabilityAtHorizon(), 1.0);
+        assertThat(response.getMarginAtRisk()).isNotNegative();
+    }
+
+    @Test
+    void nonPositiveBreakEvenCountsEveryPathAsBreached() {
+        history(randomWalk(365));
+
+        // 기타 비용이 납품 단가보다 커서 손익분기 환율이 0 이하
+        RiskSimulationResponse response = service.simulate(input("40000"), rateInfo(), Model.GBM, 1_000, 10, 1L);
+
+        assertThat(response.getBreakEvenRate()).isNotPositive();
+        assertThat(response.getBreachProbabilityAtHorizon()).isEqualTo(1.0);
+        assertThat(response.getBreachProbabilityAnyTime()).isEqualTo(1.0);
+    }
+
+    @Test
+    void pathsAndHorizonOutsideLimitsAreRejected() {
+        history(randomWalk(365));
+
+        assertThatThrownBy(() -> service.simulate(input("4500"), rateInfo(), Model.GBM, 0, 30, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.simulate(input("4500"), rateInfo(), Model.GBM, MAX_PATHS + 1, 30, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.simulate(input("4500"), rateInfo(), Model.GBM, 1_000, 0, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.simulate(input("4500"), rateInfo(), Model.GBM, 1_000, MAX_HORIZON_DAYS + 1, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tooShortHistoryIsRejected() {
+        history(new double[] {1385.5});
+
+        assertThatThrownBy(() -> service.simulate(input("4500"), rateInfo(), Model.BOOTSTRAP, 1_000, 30, 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("이력이 부족");
+    }
+
+    private void history(double[] rates) {
+        when(exchangeRateService.getRateSeries(any(), anyInt())).thenReturn(rates);
+    }
+
+    private static double[] randomWalk(int days) {
+        Random random = new Random(2024);
+        double[] rates = new double[days];
+        rates[0] = 1300;
+        for (int i = 1; i < days; i++) {
+            rates[i] = rates[i - 1] * Math.exp(0.0001 + 0.005 * random.nextGaussian());
+        }
+        return rates;
+    }
+
+    private static CompanyInputRequest input(String otherCosts) {
+        return CompanyInputRequest.builder()
+                .materialCostUsd(new BigDecimal("12.50"))
+                .materialRatio(new BigDecimal("60"))
+                .sellingPriceKrw(new BigDecimal("35000"))
+                .targetMarginRate(new BigDecimal("15"))
+                .otherCostsKrw(new BigDecimal(otherCosts))
+                .build();
+    }
+
+    private static ExchangeRateResponse rateInfo() {
+        return ExchangeRateResponse.builder()
+                .currencyCode("USD")
+                .currentRate(new BigDecimal("1385.50"))
+                .rate30DaysAgo(new BigDecimal("1360.85"))
+                .changeRate30Day(new BigDecimal("1.82"))
+                .build();
+    }
+}
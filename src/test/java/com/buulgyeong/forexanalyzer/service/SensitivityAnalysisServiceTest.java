@@ -0,0 +1,52 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import com.buulgyeong.forexanalyzer.dto.CompanyInputRequest;
+import com.buulgyeong.forexanalyzer.dto.SensitivityCurveResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class SensitivityAnalysisServiceTest {
+
+    private final SensitivityAnalysisService service = new SensitivityAnalysisService(10000);
+
+    @Test
+    void defaultRangeIsRelativeToTheCurrentRate() {
+        SensitivityCurveResponse usd = service.calculate(input("12.50"), new BigDecimal("1385.50"), null, null, null, null);
+        assertThat(usd.getPoints()).isEqualTo(201);
+        assertThat(usd.getExchangeRates()[0]).isCloseTo(1385.50 * 0.925, within(0.01));
+        assertThat(usd.getExchangeRates()[200]).isCloseTo(1385.50 * 1.075, within(0.01));
+
+        SensitivityCurveResponse jpy = service.calculate(input("1300"), new BigDecimal("9.4712"), null, null, null, null);
+        assertThat(jpy.getExchangeRates()[0]).isPositive().isCloseTo(9.4712 * 0.925, within(0.0001));
+    }
+
+    @Test
+    void smallRatesKeepEnoughDecimals() {
+        SensitivityCurveResponse idr = service.calculate(input("130000"), new BigDecimal("0.0912"), null, null, null, null);
+
+        assertThat(Arrays.stream(idr.getExchangeRates()).distinct().count()).isEqualTo(201);
+        assertThat(idr.getBreakEvenRate()).isEqualTo(0.140769);
+    }
+
+    @Test
+    void nonPositiveFromIsRejected() {
+        assertThatThrownBy(() -> service.calculate(input("1300"), new BigDecimal("9.47"), -1.0, 20.0, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CompanyInputRequest input(String materialCost) {
+        return CompanyInputRequest.builder()
+                .materialCostUsd(new BigDecimal(materialCost))
+                .materialRatio(new BigDecimal("60"))
+                .sellingPriceKrw(new BigDecimal("35000"))
+                .targetMarginRate(new BigDecimal("15"))
+                .otherCostsKrw(new BigDecimal("4500"))
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.buulgyeong.forexanalyzer.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenEstimatorTest {
+
+    @Test
+    void asciiCountsFourCharactersPerTokenRoundedUp() {
+        assertThat(TokenEstimator.estimate(null)).isZero();
+        assertThat(TokenEstimator.estimate("")).isZero();
+        assertThat(TokenEstimator.estimate("a")).isEqualTo(1);
+        assertThat(TokenEstimator.estimate("{\"a\":1}")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("12345678")).isEqualTo(2);
+    }
+
+    @Test
+    void nonAsciiCountsOneTokenPerCharacter() {
+        assertThat(TokenEstimator.estimate("환율")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("환율 1380")).isEqualTo(2 + 2);
+        // 서로게이트 쌍은 한 글자
+        assertThat(TokenEstimator.estimate("📈")).isEqualTo(1);
+    }
+}